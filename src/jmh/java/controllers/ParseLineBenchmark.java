@@ -0,0 +1,126 @@
+package controllers;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+/**
+ * Compares the slicing line decoder against the previous split-and-substring parser.
+ * Run with the gc profiler, as configured in build.gradle, to see the bytes allocated per line.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseLineBenchmark {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final String[] LINES = {
+        "- [ ] T: read book #tags home leisure",
+        "- [X] D: return book (by: 07 Feb 2025) #tags library",
+        "- [ ] E: project meeting (from: 10 Mar 2025 to: 12 Mar 2025) #tags work",
+        "- [X] T: buy groceries",
+    };
+
+    private final Storage storage = new Storage("build/jmh/tasks.md");
+
+    @Benchmark
+    public void slicing(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(storage.parseLine(line));
+        }
+    }
+
+    @Benchmark
+    public void splitting(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(parseLineBySplitting(line));
+        }
+    }
+
+    /**
+     * The parser as it was before the decoder, kept here as the baseline.
+     */
+    private static AbstractTask parseLineBySplitting(String line) {
+        if (line.length() < 9 || !line.startsWith("- [")) {
+            return null;
+        }
+        char checkMark = line.charAt(3);
+        char letter = line.charAt(6);
+        String separator = " #tags ";
+        int lastIndex = line.lastIndexOf(separator);
+        String content;
+        String[] tags = {};
+        if (lastIndex != -1) {
+            content = line.substring(8, lastIndex).trim();
+            tags = line.substring(lastIndex + separator.length()).split(" ");
+        } else {
+            content = line.substring(8).trim();
+        }
+        AbstractTask task = switch (letter) {
+        case 'T' -> new TodoTask(content);
+        case 'D' -> parseDeadlineBySplitting(content);
+        case 'E' -> parseEventBySplitting(content);
+        default -> null;
+        };
+        if (task == null) {
+            return null;
+        }
+        if (checkMark == 'X') {
+            task.markAsDone();
+        }
+        if (tags.length > 0) {
+            task.addTags(tags);
+        }
+        return task;
+    }
+
+    private static AbstractTask parseDeadlineBySplitting(String content) {
+        String[] details = content.split(" \\(by: ", 2);
+        if (details.length < 2) {
+            return null;
+        }
+        String by = details[1].substring(0, details[1].length() - 1);
+        try {
+            return new DeadlineTask(details[0], LocalDate.parse(by, FORMATTER));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static AbstractTask parseEventBySplitting(String content) {
+        String[] details = content.split(" \\(from: ", 2);
+        if (details.length < 2) {
+            return null;
+        }
+        String[] fromTo = details[1].split(" to: ", 2);
+        if (fromTo.length < 2 || !fromTo[1].endsWith(")")) {
+            return null;
+        }
+        try {
+            LocalDate from = LocalDate.parse(fromTo[0], FORMATTER);
+            LocalDate to = LocalDate.parse(fromTo[1].substring(0, fromTo[1].length() - 1), FORMATTER);
+            return new EventTask(details[0], from, to);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
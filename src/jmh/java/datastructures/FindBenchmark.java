@@ -0,0 +1,62 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tasks.AbstractTask;
+import tasks.TodoTask;
+
+/**
+ * Compares substring find through the trigram index against a scan of every description,
+ * on a list of 500,000 tasks of which a few hundred match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindBenchmark {
+    private static final int TASK_COUNT = 500_000;
+    private static final String[] WORDS = {"read", "write", "buy", "call", "plan", "fix", "book", "clean"};
+
+    private TaskList tasks;
+
+    @Setup
+    public void setUp() {
+        List<AbstractTask> loaded = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            String description = WORDS[i % WORDS.length] + " item " + i;
+            loaded.add(new TodoTask(i % 1000 == 0 ? description + " quarterly report" : description));
+        }
+        tasks = new TaskList(loaded);
+    }
+
+    @Benchmark
+    public List<AbstractTask> trigramIndex() {
+        return tasks.findTasks("rterly rep");
+    }
+
+    @Benchmark
+    public List<AbstractTask> scan() {
+        List<AbstractTask> foundTasks = new ArrayList<>();
+        for (AbstractTask task : tasks.getTasks()) {
+            if (task.getDescription().contains("rterly rep")) {
+                foundTasks.add(task);
+            }
+        }
+        return foundTasks;
+    }
+}
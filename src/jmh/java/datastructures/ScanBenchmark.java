@@ -0,0 +1,60 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tasks.AbstractTask;
+import tasks.TodoTask;
+
+/**
+ * Compares a sequential scan against a parallel scan of the same filter over lists of growing length,
+ * to find the length from which the parallel scan pays for splitting the list and waking the pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+    private static final String[] WORDS = {"read", "write", "buy", "call", "plan", "fix", "book", "clean"};
+
+    @Param({"1000", "5000", "20000", "100000", "500000"})
+    private int taskCount;
+
+    private TaskList tasks;
+
+    @Setup
+    public void setUp() {
+        List<AbstractTask> loaded = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            loaded.add(new TodoTask(WORDS[i % WORDS.length] + " item " + i));
+        }
+        tasks = new TaskList(loaded);
+    }
+
+    @Benchmark
+    public List<AbstractTask> sequential() {
+        tasks.setParallelScanThreshold(Integer.MAX_VALUE);
+        return tasks.scanTasks(task -> task.getDescription().contains("x"));
+    }
+
+    @Benchmark
+    public List<AbstractTask> parallel() {
+        tasks.setParallelScanThreshold(0);
+        return tasks.scanTasks(task -> task.getDescription().contains("x"));
+    }
+}
@@ -4,9 +4,14 @@ import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * A batch run given with "--batch <file>" skips the window and runs headless.
  */
 public class Launcher {
     public static void main(String[] args) {
+        if (Zephyr.isBatch(args)) {
+            Zephyr.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
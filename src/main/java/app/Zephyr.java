@@ -1,13 +1,29 @@
 package app;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import commands.AbstractCommand;
+import controllers.BatchStorage;
+import controllers.InMemoryStorage;
 import controllers.Parser;
+import controllers.SegmentedLogStorage;
 import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
+import enums.StorageTypes;
 import exceptions.ZephyrException;
+import tasks.AbstractTask;
 
 /**
  * The main class for the app.Zephyr application.
@@ -15,20 +31,31 @@ import exceptions.ZephyrException;
  * and task list, as well as running the main application loop.
  */
 public class Zephyr {
+    private static final long FLUSH_INTERVAL_MILLIS = 10;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final String STORAGE_PROPERTY = "zephyr.storage";
+    private static final String BATCH_FLAG = "--batch";
+    private static final String QUIET_FLAG = "--quiet";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
 
     private final Ui ui;
     private TaskList tasks;
-    private final Storage storage;
+    private final StorageBackend storage;
     private final Parser parser;
 
     /**
      * Constructs a app.Zephyr application with the specified file path for task storage.
+     * Completed deadlines and events older than the default archive age are moved to the archive on startup,
+     * while done todos, which have no date to age by, wait for an explicit archive command. The tasks archived
+     * are reported along with the welcome message.
+     * The storage backend is chosen with the "zephyr.storage" system property, and defaults to the markdown file,
+     * which is watched for edits made by other programs while the application runs.
      *
      * @param filePath the file path where tasks are stored in markdown format
      */
     public Zephyr(String filePath) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        storage = createStorage(StorageTypes.fromValue(System.getProperty(STORAGE_PROPERTY)), filePath);
         parser = new Parser();
         try {
             tasks = new TaskList(storage.loadFile());
@@ -36,16 +63,54 @@ public class Zephyr {
             ui.showLoadingError();
             tasks = new TaskList();
         }
+        try {
+            List<AbstractTask> archived = storage.archiveCompleted(tasks,
+                    LocalDate.now().minusDays(StorageBackend.DEFAULT_ARCHIVE_AGE_DAYS), false);
+            if (!archived.isEmpty()) {
+                ui.showTasksArchived(archived, tasks.getSize());
+            }
+        } catch (IOException e) {
+            ui.showSavingError();
+        }
+        tasks.clearHistory();
+        try {
+            storage.watch(tasks);
+        } catch (IOException e) {
+            // Edits made by other programs are then only picked up on the next start.
+        }
     }
 
+    /**
+     * Creates the storage backend of the given type for the given file path.
+     *
+     * @param type     the type of storage backend
+     * @param filePath the file path where tasks are stored in markdown format
+     * @return the storage backend
+     */
+    private static StorageBackend createStorage(StorageTypes type, String filePath) {
+        return switch (type) {
+        case MEMORY -> new InMemoryStorage();
+        case LOG -> new SegmentedLogStorage(filePath + ".log", SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT);
+        default -> {
+            Storage markdownStorage = new Storage(filePath, true, Storage.DEFAULT_JOURNAL_LIMIT);
+            markdownStorage.setGroupCommit(FLUSH_INTERVAL_MILLIS, MAX_BATCH_SIZE);
+            yield markdownStorage;
+        }
+        };
+    }
 
     /**
-     * Gets the welcome message
+     * Gets the welcome message, followed by the messages queued while starting up, such as the tasks archived.
      * @return Welcome message
      */
     public String getWelcome() {
+        List<String> messages = new ArrayList<>();
+        while (ui.queueSize() > 0) {
+            messages.add(ui.getOutput());
+        }
         ui.showWelcome();
-        return ui.getOutput();
+        messages.add(0, ui.getOutput());
+        return String.join("\n", messages);
     }
 
     /**
@@ -53,15 +118,20 @@ public class Zephyr {
      * This method prints the welcome message, then enters a loop to read user commands,
      * execute them, and check for an exit command. When an exit command is received,
      * the loop terminates and the tasks are saved to storage.
+     * Long listings are streamed straight to standard output rather than queued.
+     * Every command that changes the tasks marks a new version of them, which undo can return to.
      */
     public void run() {
         System.out.println(getWelcome());
+        ui.setWriter(new PrintWriter(System.out));
         boolean isExit = false;
         while (!isExit) {
             try {
                 String fullCommand = ui.readCommand();
                 AbstractCommand c = parser.parse(fullCommand);
+                reloadExternalChanges();
                 c.execute(tasks, ui, storage);
+                tasks.checkpoint();
                 while (ui.queueSize() > 0) {
                     System.out.println(ui.getOutput());
                 }
@@ -72,6 +142,80 @@ public class Zephyr {
         }
     }
 
+    /**
+     * Runs every command of a script file without a user at the keyboard, and saves the tasks once at the end.
+     * The commands are streamed from the file one line at a time, and their writes to storage are held back
+     * so a long script is not slowed down by a save after every command. Their messages are written to
+     * standard output through a large buffer, or only counted when quiet, while the errors go to standard error
+     * with the number of the line that caused them. A summary with the number of commands run per second
+     * is printed last. The script stops early at a bye command, and whatever ran is saved even if reading fails.
+     *
+     * @param scriptPath the path of the file holding one command per line
+     * @param isQuiet    whether to count the messages of the commands instead of printing them
+     */
+    public void runBatch(String scriptPath, boolean isQuiet) {
+        BatchStorage batchStorage = new BatchStorage(storage);
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE));
+        PrintWriter errors = new PrintWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+        int commandCount = 0;
+        int errorCount = 0;
+        int messageCount = 0;
+        long start = System.nanoTime();
+        try (BufferedReader script = Files.newBufferedReader(Path.of(scriptPath), StandardCharsets.UTF_8)) {
+            reloadExternalChanges();
+            int lineNumber = 0;
+            for (String line = script.readLine(); line != null; line = script.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                commandCount++;
+                try {
+                    AbstractCommand c = parser.parse(line);
+                    c.execute(tasks, ui, batchStorage);
+                    tasks.checkpoint();
+                    if (c.isExit()) {
+                        break;
+                    }
+                } catch (ZephyrException e) {
+                    errorCount++;
+                    errors.println("Line " + lineNumber + ": " + e.getMessage());
+                } finally {
+                    messageCount += isQuiet ? ui.discardOutput() : printOutput(out);
+                }
+            }
+        } catch (IOException | ZephyrException e) {
+            errors.println("Unable to run the batch file " + scriptPath + ": " + e.getMessage());
+        }
+        try {
+            batchStorage.commit(tasks);
+        } catch (IOException e) {
+            errors.println("Unable to save the tasks to file.");
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        out.printf("Ran %d commands (%d failed, %d messages) in %d ms: %.0f commands/sec.%n",
+                commandCount, errorCount, messageCount, elapsedNanos / 1_000_000,
+                commandCount * 1e9 / elapsedNanos);
+        out.flush();
+        errors.flush();
+    }
+
+    /**
+     * Writes every queued message to the writer.
+     *
+     * @param out the writer to write the messages to
+     * @return the number of messages written
+     */
+    private int printOutput(PrintWriter out) {
+        int count = 0;
+        while (ui.queueSize() > 0) {
+            out.println(ui.getOutput());
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Takes in user input and process it with the existing Zephyr implementations
      *
@@ -80,16 +224,48 @@ public class Zephyr {
      */
     public String getResponse(String userInput) {
         AbstractCommand c = parser.parse(userInput);
+        reloadExternalChanges();
         c.execute(tasks, ui, storage);
+        tasks.checkpoint();
         return ui.getOutput();
     }
 
+    /**
+     * Brings the tasks up to date with edits made to the storage by other programs since the last command.
+     *
+     * @throws ZephyrException if the edits cannot be read
+     */
+    private void reloadExternalChanges() throws ZephyrException {
+        try {
+            storage.reloadExternalChanges(tasks);
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to reload the tasks edited outside of Zephyr.");
+        }
+    }
+
     /**
      * The main entry point of the app.Zephyr application.
+     * With "--batch <file>" the commands of the file are run headless, and "--quiet" after the file
+     * counts their messages instead of printing them; otherwise commands are read from standard input.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
-        new Zephyr("data/tasks.md").run();
+        Zephyr zephyr = new Zephyr("data/tasks.md");
+        if (isBatch(args)) {
+            zephyr.runBatch(args[1], args.length > 2 && args[2].equals(QUIET_FLAG));
+        } else {
+            zephyr.run();
+        }
+    }
+
+    /**
+     * Checks whether the command-line arguments ask for a batch run.
+     *
+     * @param args command-line arguments
+     * @return true if the arguments start with "--batch" followed by a file
+     */
+    public static boolean isBatch(String[] args) {
+        return args.length >= 2 && args[0].equals(BATCH_FLAG);
     }
 }
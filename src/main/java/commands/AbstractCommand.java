@@ -1,6 +1,6 @@
 package commands;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -33,7 +33,7 @@ public abstract class AbstractCommand {
      * @param storage Storage object
      * @throws ZephyrException if the command is invalid
      */
-    public abstract void execute(TaskList tasks, Ui ui, Storage storage) throws ZephyrException;
+    public abstract void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException;
 
 
     /**
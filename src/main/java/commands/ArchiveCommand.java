@@ -0,0 +1,89 @@
+package commands;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+import tasks.AbstractTask;
+
+/**
+ * Represents a command to move completed tasks into the archive, or to search the archive.
+ * "archive [days]" archives every completed task whose date lies more than the given number of days
+ * in the past, along with every done todo, as todos carry no date to age by. "archive find <keyword>"
+ * searches the archived tasks the same way the find command searches the task list.
+ * Archiving cannot be undone, as undo would bring back tasks that stay in the archive.
+ */
+public class ArchiveCommand extends AbstractCommand {
+    private static final String FIND = "find";
+
+    /**
+     * Constructs an ArchiveCommand with the specified arguments.
+     *
+     * @param arguments the arguments in the format "[days]" or "find keyword"
+     */
+    public ArchiveCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the archive command by archiving completed tasks or by searching the archive.
+     *
+     * @param tasks   the TaskList to archive from
+     * @param ui      the Ui used to display the result
+     * @param storage the Storage holding the archive
+     * @throws ZephyrException if the arguments are invalid or the archive cannot be accessed
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
+        isValidCommand();
+        if (this.getWords()[0].equals(FIND)) {
+            String keyword = this.getArguments().substring(FIND.length() + 1);
+            try {
+                ui.showTaskList(storage.findArchived(keyword));
+            } catch (IOException e) {
+                throw new ZephyrException("Unable to read the archive.");
+            }
+            return;
+        }
+        int days = this.getArguments().isEmpty()
+                ? StorageBackend.DEFAULT_ARCHIVE_AGE_DAYS
+                : Integer.parseInt(this.getArguments());
+        try {
+            List<AbstractTask> archived = storage.archiveCompleted(tasks, LocalDate.now().minusDays(days), true);
+            tasks.clearHistory();
+            ui.showTasksArchived(archived, tasks.getSize());
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the archive to file.");
+        }
+    }
+
+    /**
+     * Validates the ArchiveCommand arguments.
+     * The arguments must be empty, a non-negative number of days, or "find" followed by a keyword.
+     *
+     * @throws ZephyrException if the arguments are invalid
+     */
+    @Override
+    public void isValidCommand() throws ZephyrException {
+        if (this.getWords()[0].equals(FIND)) {
+            if (this.getArguments().length() <= FIND.length() + 1) {
+                throw new ZephyrException("The keyword of an archive find command cannot be empty.");
+            }
+            return;
+        }
+        if (this.getArguments().isEmpty()) {
+            return;
+        }
+        try {
+            if (Integer.parseInt(this.getArguments()) < 0) {
+                throw new ZephyrException("The number of days cannot be negative.");
+            }
+        } catch (NumberFormatException e) {
+            throw new ZephyrException("Please enter a valid number of days, or 'archive find <keyword>'.");
+        }
+    }
+}
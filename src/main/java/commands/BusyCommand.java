@@ -0,0 +1,66 @@
+package commands;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+import helpers.StandardDateTime;
+
+/**
+ * Represents a command to display the events overlapping a window of days.
+ * The expected format for the command arguments is "[from date] /to [to date]", and both days are
+ * included in the window. The events are found from the interval tree kept by the TaskList.
+ */
+public class BusyCommand extends AbstractCommand {
+
+    /**
+     * Constructs a BusyCommand with the specified arguments.
+     *
+     * @param arguments the arguments in the format "[from date] /to [to date]"
+     */
+    public BusyCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the busy command by finding and displaying the events that share at least one day
+     * with the window.
+     *
+     * @param tasks   the TaskList containing the events
+     * @param ui      the Ui used to display the events
+     * @param storage the Storage (not used in this command)
+     * @throws ZephyrException if the arguments are invalid or a date cannot be parsed
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
+        isValidCommand();
+        String[] fromAndTo = getArguments().split(" /to ", 2);
+        try {
+            LocalDate fromDate = StandardDateTime.parseDateString(fromAndTo[0]);
+            LocalDate toDate = StandardDateTime.parseDateString(fromAndTo[1]);
+            if (toDate.isBefore(fromDate)) {
+                throw new ZephyrException("To date cannot be earlier than from date");
+            }
+            ui.showBusy(tasks.findEventsOverlapping(fromDate, toDate), fromDate, toDate);
+        } catch (DateTimeParseException ex) {
+            throw new ZephyrException("Please enter a valid date in the format 'dd MMM YYYY' / '21 Feb 2025'.");
+        }
+    }
+
+    /**
+     * Validates the BusyCommand arguments.
+     * This method checks that both dates are given, separated by the "/to" keyword.
+     *
+     * @throws ZephyrException if either date is missing
+     */
+    @Override
+    public void isValidCommand() throws ZephyrException {
+        String[] fromAndTo = getArguments().split(" /to ", 2);
+        if (fromAndTo.length < 2 || fromAndTo[0].isBlank() || fromAndTo[1].isBlank()) {
+            throw new ZephyrException("The busy command must be in the format 'busy <from date> /to <to date>'.");
+        }
+    }
+}
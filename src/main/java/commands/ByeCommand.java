@@ -2,7 +2,7 @@ package commands;
 
 import java.io.IOException;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -27,18 +27,18 @@ public class ByeCommand extends AbstractCommand {
 
     /**
      * Executes the Bye command.
-     * This method verifies that the command is valid and then
-     * calls the UI to display the goodbye message.
+     * This method verifies that the command is valid, saves the changes made to the tasks
+     * along with the copy the next startup loads from, and then calls the UI to display the goodbye message.
      *
-     * @param tasks   The TaskList object (not used in this command).
+     * @param tasks   The TaskList whose changes are saved.
      * @param ui      The Ui object to handle user interaction.
-     * @param storage The Storage object (not used in this command).
+     * @param storage The Storage object used to save the changes made during the session.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         isValidCommand();
         try {
-            storage.saveFile(tasks.getTasks());
+            storage.saveStartupSnapshot(tasks);
         } catch (IOException e) {
             ui.showSavingError();
             throw new ZephyrException("Unable to load file");
@@ -1,9 +1,10 @@
 package commands;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -37,11 +38,11 @@ public class DeadlineCommand extends AbstractCommand {
      *
      * @param tasks   The TaskList where the new task will be added.
      * @param ui      The Ui object responsible for user interaction.
-     * @param storage The Storage object (not used in this command).
+     * @param storage The Storage object used to record the new task.
      * @throws ZephyrException if the command is invalid or the date format is incorrect.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         isValidCommand();
         String[] tokens = this.getArguments().split(" /by ", 2);
         String description = tokens[0];
@@ -51,9 +52,12 @@ public class DeadlineCommand extends AbstractCommand {
             LocalDate byDate = StandardDateTime.parseDateString(by);
             DeadlineTask task = new DeadlineTask(description, byDate);
             tasks.addTask(task);
+            storage.journalAdd(tasks, task);
             ui.showTaskAdded(task);
         } catch (DateTimeParseException ex) {
             throw new ZephyrException("Please enter a valid date in the format 'dd MMM yyyy'.");
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the new task to file.");
         }
     }
 
@@ -1,9 +1,12 @@
 package commands;
 
-import controllers.Storage;
+import java.io.IOException;
+
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
+import tasks.AbstractTask;
 
 /**
  * Represents a command to delete a task from the task list.
@@ -31,18 +34,24 @@ public class DeleteCommand extends AbstractCommand {
      *
      * @param tasks   The TaskList from which the task will be deleted.
      * @param ui      The Ui object responsible for user interaction.
-     * @param storage The Storage object (not used in this command).
+     * @param storage The Storage object used to record the deletion.
      * @throws ZephyrException if the task number is invalid or out of range.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         isValidCommand();
         int taskIndex = Integer.parseInt(this.getArguments()) - 1;
         if (taskIndex < 0 || taskIndex >= tasks.getSize()) {
             throw new ZephyrException("Task number out of range.");
         }
+        AbstractTask task = tasks.getTask(taskIndex);
         tasks.deleteTask(taskIndex);
-        ui.showTaskDeleted(tasks.getTask(taskIndex), tasks.getSize());
+        try {
+            storage.journalDelete(tasks, taskIndex);
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the deletion to file.");
+        }
+        ui.showTaskDeleted(task, tasks.getSize());
     }
 
     /**
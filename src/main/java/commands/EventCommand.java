@@ -1,9 +1,11 @@
 package commands;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -16,6 +18,7 @@ import tasks.EventTask;
  * start date (indicated by the "/from" keyword), and end date (indicated by the "/to" keyword).
  * The expected format for the command arguments is:
  * "[description] /from [start date] /to [end date]"
+ * Once the event is added, any existing events overlapping it are reported as conflicts.
  */
 public class EventCommand extends AbstractCommand {
 
@@ -34,16 +37,17 @@ public class EventCommand extends AbstractCommand {
      * The method first validates the command arguments. It then splits the input into the event
      * description and the date components using the "/from" and "/to" keywords. The dates are parsed
      * using the Ui.parseDate method. If parsing is successful, an EventTask is created,
-     * added to the task list, and a confirmation is displayed via the Ui. If a date cannot be parsed,
+     * added to the task list, and a confirmation is displayed via the Ui, followed by the existing events
+     * that overlap it, if any. If a date cannot be parsed,
      * a ZephyrException is thrown.
      *
      * @param tasks   the TaskList to which the new event task is added.
      * @param ui      the Ui used for interacting with the user and parsing dates.
-     * @param storage the Storage (not used in this command).
+     * @param storage the Storage used to record the new task.
      * @throws ZephyrException if the command is invalid or the date format is incorrect.
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         isValidCommand();
         String[] tokens = getArguments().split(" /from ", 2);
         assert tokens.length > 1;
@@ -57,10 +61,17 @@ public class EventCommand extends AbstractCommand {
                 throw new ZephyrException("To date cannot be earlier than from date");
             }
             EventTask event = new EventTask(description, fromDate, atDate);
+            List<EventTask> conflicts = tasks.findEventsOverlapping(fromDate, atDate);
             tasks.addTask(event);
+            storage.journalAdd(tasks, event);
             ui.showTaskAdded(event);
+            if (!conflicts.isEmpty()) {
+                ui.showEventConflicts(conflicts);
+            }
         } catch (DateTimeParseException ex) {
             throw new ZephyrException("Please enter a valid date in the format 'dd MMM YYYY' / '21 Feb 2025'.");
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the new task to file.");
         }
     }
 
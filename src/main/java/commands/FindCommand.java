@@ -1,8 +1,10 @@
 package commands;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -12,8 +14,21 @@ import tasks.AbstractTask;
  * Represents a command to search for tasks based on a provided query.
  * The command filters the tasks in the TaskList whose descriptions contain
  * the search query and prints the matching tasks.
+ * With the "/w" flag, as in "find /w book club", the query is a list of whole words instead,
+ * all of which must appear in a description, answered from the keyword index of the TaskList.
+ * A query starting with a tag, as in "find #work #home|#errand -#done", searches by tags instead:
+ * every term is required, tags joined by "|" are alternatives, and tags prefixed with "-" are excluded.
+ * A query of a single word starting with "~", as in "find ~meetng" or "find ~meetng/2", forgives typos:
+ * it finds the tasks with a word within the given number of edits of it, by default one, closest first.
  */
 public class FindCommand extends AbstractCommand {
+    private static final String WORDS_FLAG = "/w";
+    private static final String TAG_PREFIX = "#";
+    private static final String EXCLUDED_TAG_PREFIX = "-#";
+    private static final String FUZZY_PREFIX = "~";
+    private static final String DISTANCE_SEPARATOR = "/";
+    private static final int DEFAULT_FUZZY_DISTANCE = 1;
+    private static final int MAX_FUZZY_DISTANCE = 3;
 
     /**
      * Constructs a FindCommand with the specified search query.
@@ -35,11 +50,53 @@ public class FindCommand extends AbstractCommand {
      * @throws ZephyrException if an error occurs during the search execution
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws ZephyrException {
-        List<AbstractTask> foundTasks = tasks.findTasks(this.getArguments());
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
+        isValidCommand();
+        List<AbstractTask> foundTasks;
+        if (isTagQuery()) {
+            foundTasks = findByTags(tasks);
+        } else if (isFuzzyQuery()) {
+            String[] keywordAndDistance = this.getArguments().substring(FUZZY_PREFIX.length())
+                    .split(DISTANCE_SEPARATOR, 2);
+            int maxDistance = keywordAndDistance.length > 1
+                    ? Integer.parseInt(keywordAndDistance[1])
+                    : DEFAULT_FUZZY_DISTANCE;
+            foundTasks = tasks.findTasksFuzzy(keywordAndDistance[0], maxDistance);
+        } else if (this.getWords()[0].equals(WORDS_FLAG)) {
+            foundTasks = tasks.findTasksByWords(this.getArguments().substring(WORDS_FLAG.length()));
+        } else {
+            foundTasks = tasks.findTasks(this.getArguments());
+        }
         ui.showTaskList(foundTasks);
     }
 
+    private boolean isFuzzyQuery() {
+        return this.getWords()[0].startsWith(FUZZY_PREFIX);
+    }
+
+    private boolean isTagQuery() {
+        String firstWord = this.getWords()[0];
+        return firstWord.startsWith(TAG_PREFIX) || firstWord.startsWith(EXCLUDED_TAG_PREFIX);
+    }
+
+    /**
+     * Splits the tag query into groups of required tags and a list of excluded tags, and runs it.
+     */
+    private List<AbstractTask> findByTags(TaskList tasks) {
+        List<List<String>> requiredGroups = new ArrayList<>();
+        List<String> excludedTags = new ArrayList<>();
+        for (String term : this.getWords()) {
+            if (term.startsWith(EXCLUDED_TAG_PREFIX)) {
+                excludedTags.add(term.substring(EXCLUDED_TAG_PREFIX.length()));
+            } else if (!term.isEmpty()) {
+                requiredGroups.add(Arrays.stream(term.split("\\|"))
+                        .map(tag -> tag.substring(TAG_PREFIX.length()))
+                        .toList());
+            }
+        }
+        return tasks.findTasksByTags(requiredGroups, excludedTags);
+    }
+
     /**
      * Validates the find command arguments.
      * This method ensures that a non-empty search query is provided.
@@ -51,5 +108,50 @@ public class FindCommand extends AbstractCommand {
         if (this.getArguments().isEmpty()) {
             throw new ZephyrException("The description of a find command cannot be empty.");
         }
+        if (this.getWords()[0].equals(WORDS_FLAG) && this.getArguments().substring(WORDS_FLAG.length()).isBlank()) {
+            throw new ZephyrException("Please enter the words to find after /w.");
+        }
+        if (isFuzzyQuery()) {
+            isValidFuzzyQuery();
+            return;
+        }
+        if (!isTagQuery()) {
+            return;
+        }
+        for (String term : this.getWords()) {
+            if (!term.isEmpty() && !isValidTagTerm(term)) {
+                throw new ZephyrException("Every term of a tag search must look like #tag, #tag|#other or -#tag.");
+            }
+        }
+    }
+
+    private void isValidFuzzyQuery() throws ZephyrException {
+        String[] keywordAndDistance = this.getArguments().substring(FUZZY_PREFIX.length())
+                .split(DISTANCE_SEPARATOR, 2);
+        if (this.getWords().length > 1 || keywordAndDistance[0].isEmpty()) {
+            throw new ZephyrException("A fuzzy find takes a single word, as in 'find ~keyword' or 'find ~keyword/2'.");
+        }
+        if (keywordAndDistance.length == 1) {
+            return;
+        }
+        try {
+            int maxDistance = Integer.parseInt(keywordAndDistance[1]);
+            if (maxDistance < 0 || maxDistance > MAX_FUZZY_DISTANCE) {
+                throw new ZephyrException("The number of edits must be between 0 and " + MAX_FUZZY_DISTANCE + ".");
+            }
+        } catch (NumberFormatException e) {
+            throw new ZephyrException("Please enter a valid number of edits after the '/'.");
+        }
+    }
+
+    private static boolean isValidTagTerm(String term) {
+        if (term.startsWith(EXCLUDED_TAG_PREFIX)) {
+            return isValidTag(term.substring(1));
+        }
+        return Arrays.stream(term.split("\\|", -1)).allMatch(FindCommand::isValidTag);
+    }
+
+    private static boolean isValidTag(String tag) {
+        return tag.length() > TAG_PREFIX.length() && tag.startsWith(TAG_PREFIX) && !tag.contains("|");
     }
 }
@@ -1,47 +1,72 @@
 package commands;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
+import exceptions.ZephyrException;
 
 /**
- * Represents a command to list all tasks in the task list.
- * The ListCommand displays all tasks to the user. It does not require any
- * additional arguments and simply delegates to the UI to show the tasks.
+ * Represents a command to list the tasks in the task list, one page at a time.
+ * "list" shows the first page, "list [page] [page size]" shows the given page, and "list --all"
+ * shows every task, streamed to the output in chunks when the Ui has a writer attached.
  */
 public class ListCommand extends AbstractCommand {
+    private static final String ALL_FLAG = "--all";
 
     /**
      * Constructs a ListCommand instance.
-     * This command does not require any additional arguments.
      *
-     * @param arguments the arguments passed with the command (expected to be empty).
+     * @param arguments the arguments passed with the command, in the format "[page] [page size]" or "--all"
      */
     public ListCommand(String arguments) {
         super(arguments);
     }
 
     /**
-     * Executes the list command by displaying all tasks in the task list.
-     * This method validates the command (although no validation is needed for listing)
-     * and then calls the Ui.showAllTasks(TaskList) method to display the tasks.
+     * Executes the list command by displaying the requested page of tasks, or all of them.
+     * The page size defaults to Ui.DEFAULT_PAGE_SIZE.
      *
      * @param tasks   the TaskList containing the tasks to be listed.
      * @param ui      the Ui object responsible for user interaction.
      * @param storage the Storage object (not used in this command).
+     * @throws ZephyrException if the arguments are invalid
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
         isValidCommand();
-        ui.showAllTasks(tasks);
+        if (this.getArguments().equals(ALL_FLAG)) {
+            ui.showAllTasks(tasks);
+            return;
+        }
+        String[] words = this.getWords();
+        int page = this.getArguments().isEmpty() ? 1 : Integer.parseInt(words[0]);
+        int pageSize = words.length > 1 ? Integer.parseInt(words[1]) : Ui.DEFAULT_PAGE_SIZE;
+        ui.showTaskPage(tasks, page, pageSize);
     }
 
     /**
      * Validates the ListCommand arguments.
-     * Since the list command does not require any arguments, no validation is performed.
+     * The arguments must be empty, "--all", or one or two positive numbers for the page and the page size.
+     *
+     * @throws ZephyrException if the arguments are invalid
      */
     @Override
-    public void isValidCommand() {
-        // No validation needed for ListCommand as it does not require any arguments.
+    public void isValidCommand() throws ZephyrException {
+        if (this.getArguments().isEmpty() || this.getArguments().equals(ALL_FLAG)) {
+            return;
+        }
+        String[] words = this.getWords();
+        if (words.length > 2) {
+            throw new ZephyrException("Please enter 'list', 'list <page> [page size]' or 'list --all'.");
+        }
+        for (String word : words) {
+            try {
+                if (Integer.parseInt(word) < 1) {
+                    throw new ZephyrException("The page and the page size must be at least 1.");
+                }
+            } catch (NumberFormatException e) {
+                throw new ZephyrException("Please enter 'list', 'list <page> [page size]' or 'list --all'.");
+            }
+        }
     }
 }
@@ -1,6 +1,8 @@
 package commands;
 
-import controllers.Storage;
+import java.io.IOException;
+
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -29,15 +31,20 @@ public class MarkCommand extends AbstractCommand {
      *
      * @param tasks   the TaskList containing the tasks
      * @param ui      the Ui object used to interact with the user
-     * @param storage the Storage object (not used in this command)
+     * @param storage the Storage object used to record the change
      * @throws ZephyrException if the command is invalid or the task number is not valid
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws ZephyrException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
         isValidCommand();
         int index = Integer.parseInt(this.getWords()[0]);
         AbstractTask task = tasks.getTask(index - 1);
         task.markAsDone();
+        try {
+            storage.journalMark(tasks, index - 1, true);
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the change to file.");
+        }
         ui.showTaskDone(task);
     }
 
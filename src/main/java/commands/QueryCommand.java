@@ -0,0 +1,63 @@
+package commands;
+
+import java.util.List;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+import queries.Query;
+import queries.QueryParser;
+import tasks.AbstractTask;
+
+/**
+ * Represents a command to list the tasks matching a query.
+ * A query combines conditions on the type, status, tags, dates and words of a task with and, or, not
+ * and parentheses, and may end with a sort order and a limit, as in
+ * "query type:deadline and (#work or #school) not done sort:date limit:5".
+ */
+public class QueryCommand extends AbstractCommand {
+    private Query query;
+
+    /**
+     * Constructs a QueryCommand with the specified query.
+     *
+     * @param arguments the text of the query
+     */
+    public QueryCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the query command by running the query compiled during validation against the task list.
+     * The query is answered from the most selective index it can use, falling back to a scan of the list.
+     *
+     * @param tasks   the TaskList to query
+     * @param ui      the UI used to display the matching tasks
+     * @param storage the Storage (not used in this command)
+     * @throws ZephyrException if the query is invalid
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
+        isValidCommand();
+        List<AbstractTask> foundTasks = query.run(tasks);
+        ui.showTaskList(foundTasks);
+    }
+
+    /**
+     * Validates the query command arguments.
+     * This method ensures that a query is provided and that it follows the query grammar.
+     * The query is compiled only once, and kept for execute to run.
+     *
+     * @throws ZephyrException if the query is empty or invalid
+     */
+    @Override
+    public void isValidCommand() throws ZephyrException {
+        if (this.getArguments().isBlank()) {
+            throw new ZephyrException("The query of a query command cannot be empty.");
+        }
+        if (query == null) {
+            query = new QueryParser(this.getArguments()).parse();
+        }
+    }
+}
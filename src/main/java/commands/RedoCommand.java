@@ -0,0 +1,59 @@
+package commands;
+
+import java.io.IOException;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+
+/**
+ * Represents a command that reapplies the change most recently reverted by undo.
+ * The TaskList makes the changes of the step last undone again, and the changes it made are then
+ * recorded in storage.
+ */
+public class RedoCommand extends AbstractCommand {
+
+    /**
+     * Constructs a RedoCommand instance.
+     * This command does not require any additional arguments.
+     *
+     * @param arguments the arguments passed with the command (expected to be empty)
+     */
+    public RedoCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the redo command by replaying the step last undone forwards,
+     * and recording the changes the replay made.
+     *
+     * @param tasks   the TaskList to redo the change in
+     * @param ui      the Ui used to display the tasks afterwards
+     * @param storage the Storage used to record the changes
+     * @throws ZephyrException if the changes cannot be recorded
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
+        isValidCommand();
+        if (!tasks.redo()) {
+            ui.addQueue("There is nothing to redo.");
+            return;
+        }
+        try {
+            storage.journalReplay(tasks, tasks.getReplayedChanges());
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the redo to file.");
+        }
+        ui.showVersionRestored("redo", tasks);
+    }
+
+    /**
+     * Validates the RedoCommand arguments.
+     * Since the redo command does not require any arguments, no validation is performed.
+     */
+    @Override
+    public void isValidCommand() {
+        // No validation needed for RedoCommand as it does not require any arguments.
+    }
+}
@@ -0,0 +1,45 @@
+package commands;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+
+/**
+ * Represents a command to show the statistics of the task list: the number of tasks of each type,
+ * the done and pending tasks, the overdue deadlines and the number of tasks carrying each tag.
+ */
+public class StatsCommand extends AbstractCommand {
+
+    /**
+     * Constructs a StatsCommand instance.
+     * This command does not require any additional arguments.
+     *
+     * @param arguments the arguments passed with the command (expected to be empty)
+     */
+    public StatsCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the stats command by reading the counts the TaskList keeps and displaying them.
+     * No task is visited, so the command costs the same however long the list is.
+     *
+     * @param tasks   the TaskList to show the statistics of
+     * @param ui      the Ui used to display the statistics
+     * @param storage the Storage (not used in this command)
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
+        isValidCommand();
+        ui.showStatistics(tasks.getStatistics());
+    }
+
+    /**
+     * Validates the StatsCommand arguments.
+     * Since the stats command does not require any arguments, no validation is performed.
+     */
+    @Override
+    public void isValidCommand() {
+        // No validation needed for StatsCommand as it does not require any arguments.
+    }
+}
@@ -1,8 +1,9 @@
 package commands;
 
+import java.io.IOException;
 import java.util.Arrays;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -26,7 +27,7 @@ public class TagCommand extends AbstractCommand {
      * @throws ZephyrException if the command is invalid
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws ZephyrException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
         isValidCommand();
         int taskNumber = Integer.parseInt(this.getWords()[0]) - 1;
         if (taskNumber > tasks.getSize()) {
@@ -36,6 +37,11 @@ public class TagCommand extends AbstractCommand {
         String[] tags = Arrays.copyOfRange(this.getWords(), 1, this.getWords().length);
         // Exclude the first element as it is the task number
         task.addTags(tags);
+        try {
+            storage.journalTag(tasks, taskNumber, tags);
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the tags to file.");
+        }
 
         ui.showTaggingOfTask(taskNumber, tags);
     }
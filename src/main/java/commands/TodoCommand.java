@@ -1,6 +1,8 @@
 package commands;
 
-import controllers.Storage;
+import java.io.IOException;
+
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -30,14 +32,19 @@ public class TodoCommand extends AbstractCommand {
      *
      * @param tasks   the TaskList where the new task will be added
      * @param ui      the Ui used for user interaction
-     * @param storage the Storage (not used in this command)
+     * @param storage the Storage used to record the new task
      * @throws ZephyrException if the command arguments are invalid
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws ZephyrException {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
         isValidCommand();
         AbstractTask newTask = new TodoTask(this.getArguments());
         tasks.addTask(newTask);
+        try {
+            storage.journalAdd(tasks, newTask);
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the new task to file.");
+        }
         ui.showTaskAdded(newTask);
     }
 
@@ -0,0 +1,58 @@
+package commands;
+
+import java.io.IOException;
+
+import controllers.StorageBackend;
+import controllers.Ui;
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+
+/**
+ * Represents a command that returns the tasks to how they were before the last command that changed them.
+ * The TaskList reverts the changes of its last step, and the changes it made are then recorded in storage.
+ */
+public class UndoCommand extends AbstractCommand {
+
+    /**
+     * Constructs a UndoCommand instance.
+     * This command does not require any additional arguments.
+     *
+     * @param arguments the arguments passed with the command (expected to be empty)
+     */
+    public UndoCommand(String arguments) {
+        super(arguments);
+    }
+
+    /**
+     * Executes the undo command by replaying the last logged step of the TaskList backwards,
+     * and recording the changes the replay made.
+     *
+     * @param tasks   the TaskList to undo the change in
+     * @param ui      the Ui used to display the tasks afterwards
+     * @param storage the Storage used to record the changes
+     * @throws ZephyrException if the changes cannot be recorded
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) throws ZephyrException {
+        isValidCommand();
+        if (!tasks.undo()) {
+            ui.addQueue("There is nothing to undo.");
+            return;
+        }
+        try {
+            storage.journalReplay(tasks, tasks.getReplayedChanges());
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the undo to file.");
+        }
+        ui.showVersionRestored("undo", tasks);
+    }
+
+    /**
+     * Validates the UndoCommand arguments.
+     * Since the undo command does not require any arguments, no validation is performed.
+     */
+    @Override
+    public void isValidCommand() {
+        // No validation needed for UndoCommand as it does not require any arguments.
+    }
+}
@@ -1,6 +1,6 @@
 package commands;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -30,7 +30,7 @@ public class UnknownCommand extends AbstractCommand {
      * @param storage the Storage (not used in this command)
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         ui.showUnknown();
     }
 
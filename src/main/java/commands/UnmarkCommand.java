@@ -1,6 +1,8 @@
 package commands;
 
-import controllers.Storage;
+import java.io.IOException;
+
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -30,19 +32,22 @@ public class UnmarkCommand extends AbstractCommand {
      *
      * @param tasks   the TaskList containing the tasks
      * @param ui      the UI used for user interaction
-     * @param storage the Storage (not used in this command)
+     * @param storage the Storage used to record the change
      * @throws ZephyrException if the task number is invalid or out of range
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         try {
             isValidCommand();
             int index = Integer.parseInt(this.getWords()[0]);
             AbstractTask task = tasks.getTask(index - 1);
             task.markAsUndone();
+            storage.journalMark(tasks, index - 1, false);
             ui.showTaskUndone(task);
         } catch (IndexOutOfBoundsException e) {
             throw new ZephyrException("Task number out of range.");
+        } catch (IOException e) {
+            throw new ZephyrException("Unable to save the change to file.");
         }
     }
 
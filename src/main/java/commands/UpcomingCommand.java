@@ -2,8 +2,9 @@ package commands;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
-import controllers.Storage;
+import controllers.StorageBackend;
 import controllers.Ui;
 import datastructures.TaskList;
 import exceptions.ZephyrException;
@@ -29,12 +30,12 @@ public class UpcomingCommand extends AbstractCommand {
     }
 
     /**
-     * Executes the upcoming command by filtering and displaying tasks.
+     * Executes the upcoming command by finding and displaying tasks.
      * This method validates the command arguments, parses the task type and the number of days,
-     * and then iterates over all tasks in the TaskList. For tasks matching the specified type,
-     * if their date is after the current date and before the current date plus the specified days,
-     * they are considered upcoming. The command then prints the list of upcoming tasks along with
-     * the number of days remaining until each task's deadline or start date.
+     * and then asks the date index of the TaskList for the tasks of that type whose date is after
+     * the current date and before the current date plus the specified days, so only those tasks are
+     * visited. The command then prints the upcoming tasks in list order, along with the number of
+     * days remaining until each task's deadline or start date.
      *
      * @param tasks   the TaskList containing the tasks
      * @param ui      the UI used for user interaction
@@ -42,45 +43,32 @@ public class UpcomingCommand extends AbstractCommand {
      * @throws ZephyrException if the command arguments are invalid
      */
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    public void execute(TaskList tasks, Ui ui, StorageBackend storage) {
         isValidCommand();
         String taskType = this.getWords()[0];
         int days = Integer.parseInt(this.getWords()[1]);
         LocalDate currentDate = LocalDate.now();
+        LocalDate endDate = currentDate.plusDays(days);
 
-        AbstractTask[] upcomingTasks = new AbstractTask[tasks.getSize()];
-        int i = 0;
-        for (AbstractTask task : tasks.getTasks()) {
-            if (taskType.equalsIgnoreCase(task.getTaskType()) && task instanceof DeadlineTask deadlineTask) {
-                LocalDate deadlineDate = deadlineTask.getBy();
-                if (deadlineDate.isAfter(currentDate) && deadlineDate.isBefore(currentDate.plusDays(days))) {
-                    upcomingTasks[i] = task;
-                    i++;
-                }
-            } else if (taskType.equalsIgnoreCase(task.getTaskType()) && task instanceof EventTask eventTask) {
-                LocalDate eventDate = eventTask.getFrom();
-                if (eventDate.isAfter(currentDate) && eventDate.isBefore(currentDate.plusDays(days))) {
-                    upcomingTasks[i] = task;
-                    i++;
-                }
-            }
-        }
+        List<? extends AbstractTask> upcomingTasks = taskType.equals("deadline")
+                ? tasks.findDeadlinesBetween(currentDate, endDate)
+                : tasks.findEventsStartingBetween(currentDate, endDate);
 
-        if (i == 0) {
+        if (upcomingTasks.isEmpty()) {
             ui.showNoUpcomingTasks(taskType, days);
             return;
         }
 
         StringBuilder content = new StringBuilder();
-        content.append("Thou have ").append(i).append(" upcoming ").append(taskType)
+        content.append("Thou have ").append(upcomingTasks.size()).append(" upcoming ").append(taskType)
                 .append(" tasks within the next ").append(days).append(" days.");
-        for (int j = 0; j < i; j++) {
-            AbstractTask task = upcomingTasks[j];
-            if (taskType.equalsIgnoreCase(task.getTaskType()) && task instanceof DeadlineTask deadlineTask) {
+        for (int j = 0; j < upcomingTasks.size(); j++) {
+            AbstractTask task = upcomingTasks.get(j);
+            if (task instanceof DeadlineTask deadlineTask) {
                 long daysUntilDeadline = ChronoUnit.DAYS.between(currentDate, deadlineTask.getBy());
                 content.append((j + 1)).append(". ").append(deadlineTask);
                 content.append("    ").append(daysUntilDeadline).append(" days until deadline.");
-            } else if (taskType.equalsIgnoreCase(task.getTaskType()) && task instanceof EventTask eventTask) {
+            } else if (task instanceof EventTask eventTask) {
                 long daysUntilEvent = ChronoUnit.DAYS.between(currentDate, eventTask.getFrom());
                 content.append((j + 1)).append(". ").append(eventTask);
                 content.append("    ").append(daysUntilEvent).append(" days until event.");
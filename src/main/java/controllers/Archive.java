@@ -0,0 +1,213 @@
+package controllers;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import tasks.AbstractTask;
+
+/**
+ * A cold tier for completed tasks, kept out of the storage file and out of memory.
+ * Every archive run writes one new segment: the markdown lines of the archived tasks, gzip-compressed.
+ * Segments are never rewritten, only added. Next to each segment sits a small index holding the
+ * number of tasks in it and every word of their descriptions, so a search only decompresses the
+ * segments that can hold a match. The indexes are read once, on first use.
+ */
+class Archive {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".md.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final File directory;
+    private TreeMap<Integer, Set<String>> segmentWords;
+
+    /**
+     * Constructs an Archive keeping its segments in the given directory.
+     *
+     * @param directory the directory holding the segments, created on the first archive run
+     */
+    Archive(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the given tasks to a new segment, followed by its index.
+     * Both files are written under temporary names and moved into place, so a crash never leaves
+     * a partial segment behind. The segment is in place before this method returns.
+     *
+     * @param tasks the tasks to archive
+     * @throws IOException if an I/O error occurs while writing the segment
+     */
+    void append(List<AbstractTask> tasks) throws IOException {
+        loadIndexes();
+        directory.mkdirs();
+        int segment = segmentWords.isEmpty() ? 1 : segmentWords.lastKey() + 1;
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            for (AbstractTask task : tasks) {
+                output.write((task.toMarkdownString() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        writeAtomically(segmentFile(segment), compressed.toByteArray());
+
+        Set<String> words = new TreeSet<>();
+        for (AbstractTask task : tasks) {
+            addWords(words, task.getDescription());
+        }
+        writeIndex(segment, tasks.size(), words);
+        segmentWords.put(segment, words);
+    }
+
+    /**
+     * Finds archived tasks that contain the specified keyword in their descriptions.
+     * Segments whose index shows that no description can contain the keyword are skipped unread.
+     *
+     * @param keyword the keyword to search for in the task descriptions
+     * @return the matching archived tasks, oldest segment first
+     * @throws IOException if an I/O error occurs while reading a segment
+     */
+    List<AbstractTask> find(String keyword) throws IOException {
+        loadIndexes();
+        List<AbstractTask> foundTasks = new ArrayList<>();
+        for (var entry : segmentWords.entrySet()) {
+            if (!mayContain(entry.getValue(), keyword)) {
+                continue;
+            }
+            for (AbstractTask task : readSegment(entry.getKey())) {
+                if (task.getDescription().contains(keyword)) {
+                    foundTasks.add(task);
+                }
+            }
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Returns whether a description made up of the given words can contain the keyword.
+     * Every space-separated part of the keyword must then appear within one of the words.
+     */
+    private static boolean mayContain(Set<String> words, String keyword) {
+        for (String part : keyword.split(" ")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            boolean isFound = false;
+            for (String word : words) {
+                if (word.contains(part)) {
+                    isFound = true;
+                    break;
+                }
+            }
+            if (!isFound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addWords(Set<String> words, String description) {
+        for (String word : description.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+    }
+
+    /**
+     * Decompresses and parses every task in a segment.
+     */
+    private List<AbstractTask> readSegment(int segment) throws IOException {
+        LineDecoder decoder = new LineDecoder();
+        List<AbstractTask> tasks = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segmentFile(segment).toPath())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                AbstractTask task = decoder.decode(line, 0, line.length());
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads the index of every segment in the directory, the first time the archive is used.
+     * A segment whose index is missing, as after a crash between the two writes, is indexed again.
+     */
+    private void loadIndexes() throws IOException {
+        if (segmentWords != null) {
+            return;
+        }
+        segmentWords = new TreeMap<>();
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            int segment;
+            try {
+                segment = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            File index = indexFile(segment);
+            Set<String> words = new TreeSet<>();
+            if (index.exists()) {
+                List<String> lines = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+                words.addAll(lines.subList(Math.min(1, lines.size()), lines.size()));
+            } else {
+                List<AbstractTask> tasks = readSegment(segment);
+                for (AbstractTask task : tasks) {
+                    addWords(words, task.getDescription());
+                }
+                writeIndex(segment, tasks.size(), words);
+            }
+            segmentWords.put(segment, words);
+        }
+    }
+
+    /**
+     * Writes the index of a segment: its task count on the first line, then one description word per line.
+     */
+    private void writeIndex(int segment, int count, Set<String> words) throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append(count).append("\n");
+        for (String word : words) {
+            content.append(word).append("\n");
+        }
+        writeAtomically(indexFile(segment), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeAtomically(File target, byte[] content) throws IOException {
+        File temporary = new File(target.getPath() + ".tmp");
+        Files.write(temporary.toPath(), content);
+        Files.move(temporary.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File segmentFile(int segment) {
+        return new File(directory, SEGMENT_PREFIX + String.format("%06d", segment) + SEGMENT_SUFFIX);
+    }
+
+    private File indexFile(int segment) {
+        return new File(directory, SEGMENT_PREFIX + String.format("%06d", segment) + INDEX_SUFFIX);
+    }
+}
@@ -0,0 +1,107 @@
+package controllers;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import datastructures.TaskChange;
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A storage backend that holds back every write of a batch of commands, and saves the tasks once at the end.
+ * The journal methods and saves that commands make as they run do nothing, since the TaskList tracks
+ * its own changes; commit then hands the whole TaskList to the wrapped backend in a single save.
+ * Archiving and reading the archive still go straight to the wrapped backend.
+ */
+public class BatchStorage implements StorageBackend {
+    private final StorageBackend backend;
+
+    /**
+     * Constructs a BatchStorage in front of the given backend.
+     *
+     * @param backend the backend the tasks are saved to at the end of the batch
+     */
+    public BatchStorage(StorageBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Saves the tasks to the wrapped backend, along with the copy the next startup loads from,
+     * and waits until the save is durable.
+     *
+     * @param tasks the TaskList the batch ran against
+     * @throws IOException if an I/O error occurs while writing the tasks
+     */
+    public void commit(TaskList tasks) throws IOException {
+        backend.saveAll(tasks);
+        backend.saveStartupSnapshot(tasks);
+        backend.flush();
+    }
+
+    @Override
+    public List<AbstractTask> loadFile() throws IOException {
+        return backend.loadFile();
+    }
+
+    @Override
+    public void saveChanges(TaskList tasks) {
+        // Saved once by commit at the end of the batch.
+    }
+
+    @Override
+    public void saveStartupSnapshot(TaskList tasks) {
+        // Written once by commit at the end of the batch.
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is written until commit.
+    }
+
+    @Override
+    public void journalAdd(TaskList tasks, AbstractTask task) {
+        // The addition is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalMark(TaskList tasks, int index, boolean isDone) {
+        // The change of status is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalTag(TaskList tasks, int index, String... tags) {
+        // The tagging is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalDelete(TaskList tasks, int index) {
+        // The deletion is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalInsert(TaskList tasks, int index, AbstractTask task) {
+        // The insertion is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalRestore(TaskList tasks, int index) {
+        // The change of status and tags is tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public void journalReplay(TaskList tasks, List<TaskChange> changes) {
+        // The changes of the undo or redo are tracked by the TaskList and saved by commit.
+    }
+
+    @Override
+    public List<AbstractTask> archiveCompleted(TaskList tasks, LocalDate cutoff, boolean isTodoIncluded)
+            throws IOException {
+        return backend.archiveCompleted(tasks, cutoff, isTodoIncluded);
+    }
+
+    @Override
+    public List<AbstractTask> findArchived(String keyword) throws IOException {
+        return backend.findArchived(keyword);
+    }
+}
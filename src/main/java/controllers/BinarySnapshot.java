@@ -0,0 +1,232 @@
+package controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+/**
+ * A compact binary copy of the storage file, used to skip markdown parsing on startup.
+ * The file starts with a fixed-width header identifying the markdown file it was written for,
+ * by length, modification time and checksum, followed by a checksummed payload.
+ * Every task in the payload has a fixed-width header holding its type, status, tag count, dates
+ * as epoch days and the location of its markdown line, followed by its description and tags
+ * as length-prefixed UTF-8 strings.
+ */
+class BinarySnapshot {
+    private static final int MAGIC = 0x5A504852;
+    private static final short VERSION = 2;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final byte DONE_FLAG = 1;
+
+    private final List<AbstractTask> tasks;
+    private final long sequence;
+
+    private BinarySnapshot(List<AbstractTask> tasks, long sequence) {
+        this.tasks = tasks;
+        this.sequence = sequence;
+    }
+
+    List<AbstractTask> getTasks() {
+        return tasks;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Encodes the given tasks into a snapshot payload.
+     *
+     * @param tasks    the tasks to encode
+     * @param sequence the journal sequence number the tasks are current to
+     * @return the encoded payload
+     */
+    static byte[] encode(List<AbstractTask> tasks, long sequence) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 48 + 12);
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(tasks.size());
+            output.writeLong(sequence);
+            for (AbstractTask task : tasks) {
+                int firstDate = 0;
+                int secondDate = 0;
+                byte type = TODO;
+                if (task instanceof DeadlineTask deadlineTask) {
+                    type = DEADLINE;
+                    firstDate = (int) deadlineTask.getBy().toEpochDay();
+                } else if (task instanceof EventTask eventTask) {
+                    type = EVENT;
+                    firstDate = (int) eventTask.getFrom().toEpochDay();
+                    secondDate = (int) eventTask.getTo().toEpochDay();
+                }
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                output.writeByte(type);
+                output.writeByte(task.isDone() ? DONE_FLAG : 0);
+                output.writeShort(task.getTags().size());
+                output.writeInt(firstDate);
+                output.writeInt(secondDate);
+                output.writeLong(task.getFileOffset());
+                output.writeInt(task.getFileLength());
+                output.writeInt(description.length);
+                output.write(description);
+                for (String tag : task.getTags()) {
+                    byte[] tagBytes = tag.getBytes(StandardCharsets.UTF_8);
+                    output.writeShort(tagBytes.length);
+                    output.write(tagBytes);
+                }
+            }
+        } catch (IOException e) {
+            // Writes to a ByteArrayOutputStream never fail.
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a snapshot payload for a markdown file that has just been written.
+     * The snapshot is written to a temporary file first and then moved into place.
+     *
+     * @param target        the snapshot file
+     * @param payload       the payload produced by {@link #encode(List, long)}
+     * @param markdownFile  the markdown file the payload was rendered alongside
+     * @param markdownBytes the bytes written to the markdown file
+     * @throws IOException if an I/O error occurs while writing the snapshot
+     */
+    static void write(File target, byte[] payload, File markdownFile, byte[] markdownBytes) throws IOException {
+        CRC32 markdownCrc = new CRC32();
+        markdownCrc.update(markdownBytes);
+        CRC32 payloadCrc = new CRC32();
+        payloadCrc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(40);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putLong(markdownBytes.length);
+        header.putLong(markdownFile.lastModified());
+        header.putLong(markdownCrc.getValue());
+        header.putInt(payload.length);
+        header.putInt((int) payloadCrc.getValue());
+        header.flip();
+
+        File temporary = new File(target.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(payload)});
+        }
+        Files.move(temporary.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot if it still matches the markdown file.
+     *
+     * @param source       the snapshot file
+     * @param markdownFile the markdown file the snapshot must match
+     * @return the BinarySnapshot, or null if it is missing, stale or corrupt
+     */
+    static BinarySnapshot read(File source, File markdownFile) {
+        if (!source.exists() || !markdownFile.exists()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(source.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            buffer.getShort();
+            long markdownLength = buffer.getLong();
+            long markdownModified = buffer.getLong();
+            long markdownCrc = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            int payloadCrc = buffer.getInt();
+            if (markdownLength != markdownFile.length() || markdownModified != markdownFile.lastModified()
+                    || markdownCrc != checksum(markdownFile) || payloadLength != buffer.remaining()) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice());
+            if ((int) crc.getValue() != payloadCrc) {
+                return null;
+            }
+            return decode(buffer);
+        } catch (IOException | BufferUnderflowException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes the CRC32 checksum of a file through a memory mapping.
+     */
+    private static long checksum(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * Decodes the payload that starts at the current position of the buffer.
+     */
+    private static BinarySnapshot decode(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        long sequence = buffer.getLong();
+        List<AbstractTask> tasks = new ArrayList<>(count);
+        byte[] array = buffer.array();
+        for (int i = 0; i < count; i++) {
+            byte type = buffer.get();
+            byte flags = buffer.get();
+            int tagCount = Short.toUnsignedInt(buffer.getShort());
+            int firstDate = buffer.getInt();
+            int secondDate = buffer.getInt();
+            long fileOffset = buffer.getLong();
+            int fileLength = buffer.getInt();
+            int descriptionLength = buffer.getInt();
+            String description = new String(array, buffer.position(), descriptionLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + descriptionLength);
+
+            AbstractTask task = switch (type) {
+            case DEADLINE -> new DeadlineTask(description, LocalDate.ofEpochDay(firstDate));
+            case EVENT -> new EventTask(description, LocalDate.ofEpochDay(firstDate),
+                    LocalDate.ofEpochDay(secondDate));
+            default -> new TodoTask(description);
+            };
+            if ((flags & DONE_FLAG) != 0) {
+                task.markAsDone();
+            }
+            if (tagCount > 0) {
+                String[] tags = new String[tagCount];
+                for (int j = 0; j < tagCount; j++) {
+                    int tagLength = Short.toUnsignedInt(buffer.getShort());
+                    tags[j] = new String(array, buffer.position(), tagLength, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + tagLength);
+                }
+                task.addTags(tags);
+            }
+            task.setFileLocation(fileOffset, fileLength);
+            tasks.add(task);
+        }
+        return new BinarySnapshot(tasks, sequence);
+    }
+}
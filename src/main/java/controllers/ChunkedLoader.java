@@ -0,0 +1,137 @@
+package controllers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import tasks.AbstractTask;
+
+/**
+ * Parses a memory-mapped storage file in parallel on a fork-join pool.
+ * The file is split in half recursively, with every split moved forward to the next newline,
+ * until each chunk is small enough to parse on its own. The results of both halves are joined
+ * in order, so the tasks come back in file order.
+ */
+class ChunkedLoader extends RecursiveTask<List<AbstractTask>> {
+    static final int CHUNK_SIZE = 256 * 1024;
+    private static final long serialVersionUID = 1L;
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    /**
+     * Constructs a ChunkedLoader over the bytes of the buffer between start and end.
+     * The start must be at the beginning of a line.
+     *
+     * @param buffer the mapped file content, only read through absolute gets
+     * @param start  the offset of the first byte to parse
+     * @param end    the offset after the last byte to parse
+     */
+    ChunkedLoader(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected List<AbstractTask> compute() {
+        if (end - start <= CHUNK_SIZE) {
+            return parseChunk();
+        }
+        int split = nextLineStart(start + (end - start) / 2);
+        if (split >= end) {
+            return parseChunk();
+        }
+        ChunkedLoader left = new ChunkedLoader(buffer, start, split);
+        ChunkedLoader right = new ChunkedLoader(buffer, split, end);
+        left.fork();
+        List<AbstractTask> rightTasks = right.compute();
+        List<AbstractTask> tasks = left.join();
+        tasks.addAll(rightTasks);
+        return tasks;
+    }
+
+    /**
+     * Returns the offset just after the first newline at or after the given offset.
+     */
+    private int nextLineStart(int offset) {
+        int position = offset;
+        while (position < end && buffer.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, end);
+    }
+
+    /**
+     * Parses the chunk line by line on the calling thread, with a decoder of its own.
+     * Every task records the byte offset and length of its line, so it can later be patched in place.
+     * Lines of plain ASCII are decoded straight from the bytes; only lines with other characters are
+     * turned into a String first.
+     *
+     * @return the tasks in the chunk, in file order
+     */
+    List<AbstractTask> parseChunk() {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        AsciiView ascii = new AsciiView(bytes);
+        LineDecoder decoder = new LineDecoder();
+        List<AbstractTask> tasks = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            boolean isAscii = true;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                isAscii &= bytes[lineEnd] >= 0;
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            AbstractTask task;
+            if (isAscii) {
+                task = decoder.decode(ascii, lineStart, contentEnd);
+            } else {
+                String line = new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8);
+                task = decoder.decode(line, 0, line.length());
+            }
+            if (task != null) {
+                task.setFileLocation(start + lineStart, contentEnd - lineStart);
+                tasks.add(task);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * A read-only view of ASCII bytes as characters.
+     */
+    private static class AsciiView implements CharSequence {
+        private final byte[] bytes;
+
+        AsciiView(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) bytes[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
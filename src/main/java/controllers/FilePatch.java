@@ -0,0 +1,28 @@
+package controllers;
+
+/**
+ * A positioned write that brings part of the storage file up to date.
+ */
+class FilePatch {
+    private final long position;
+    private final byte[] bytes;
+
+    /**
+     * Constructs a FilePatch.
+     *
+     * @param position the byte offset in the file to write at
+     * @param bytes    the bytes to write
+     */
+    FilePatch(long position, byte[] bytes) {
+        this.position = position;
+        this.bytes = bytes;
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+}
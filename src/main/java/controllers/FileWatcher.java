@@ -0,0 +1,81 @@
+package controllers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Watches a single file for changes on a background thread.
+ * The thread only raises a flag; whoever owns the file checks it between commands, so the tasks are
+ * never touched from the watcher thread. Every write to the file raises the flag, including writes
+ * made by the application itself, so the owner has to tell those apart.
+ */
+class FileWatcher {
+    private final File target;
+    private final AtomicBoolean isChanged = new AtomicBoolean();
+    private WatchService watchService;
+
+    /**
+     * Constructs a FileWatcher for the given file.
+     *
+     * @param target the file to watch
+     */
+    FileWatcher(File target) {
+        this.target = target;
+    }
+
+    /**
+     * Starts watching the directory holding the file.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    void start() throws IOException {
+        Path directory = target.getAbsoluteFile().getParentFile().toPath();
+        directory.toFile().mkdirs();
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread thread = new Thread(this::run, "file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns whether the file has changed since the last call, and clears the flag.
+     *
+     * @return true if the file has changed, false otherwise
+     */
+    boolean pollChanged() {
+        return isChanged.getAndSet(false);
+    }
+
+    /**
+     * Raises the flag for every event on the watched file until the watch service is closed.
+     */
+    private void run() {
+        Path fileName = target.toPath().getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    isChanged.set(true);
+                }
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package controllers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A storage backend that keeps the tasks in memory only, for tests and benchmarks.
+ * The tasks are held as their markdown lines, so every load parses fresh task objects just as
+ * the file-backed backends do, and nothing outlives the backend itself.
+ */
+public class InMemoryStorage implements StorageBackend {
+    private final List<String> lines = new ArrayList<>();
+    private final List<String> archivedLines = new ArrayList<>();
+    private final LineDecoder lineDecoder = new LineDecoder();
+
+    @Override
+    public List<AbstractTask> loadFile() {
+        return decodeAll(lines);
+    }
+
+    @Override
+    public void saveChanges(TaskList tasks) {
+        lines.clear();
+        for (AbstractTask task : tasks.getTasks()) {
+            lines.add(task.toMarkdownString());
+        }
+        tasks.clearChanges();
+    }
+
+    @Override
+    public void flush() {
+        // Every mutation is applied as it is recorded.
+    }
+
+    @Override
+    public void journalAdd(TaskList tasks, AbstractTask task) {
+        lines.add(task.toMarkdownString());
+    }
+
+    @Override
+    public void journalMark(TaskList tasks, int index, boolean isDone) {
+        lines.set(index, tasks.getTask(index).toMarkdownString());
+    }
+
+    @Override
+    public void journalTag(TaskList tasks, int index, String... tags) {
+        lines.set(index, tasks.getTask(index).toMarkdownString());
+    }
+
+    @Override
+    public void journalDelete(TaskList tasks, int index) {
+        lines.remove(index);
+    }
+
+    @Override
+    public void journalInsert(TaskList tasks, int index, AbstractTask task) {
+        lines.add(index, task.toMarkdownString());
+    }
+
+    @Override
+    public void journalRestore(TaskList tasks, int index) {
+        lines.set(index, tasks.getTask(index).toMarkdownString());
+    }
+
+    @Override
+    public List<AbstractTask> archiveCompleted(TaskList tasks, LocalDate cutoff, boolean isTodoIncluded) {
+        List<AbstractTask> archived = tasks.findCompletedBefore(cutoff, isTodoIncluded);
+        for (AbstractTask task : archived) {
+            archivedLines.add(task.toMarkdownString());
+        }
+        for (int i = archived.size() - 1; i >= 0; i--) {
+            tasks.deleteTask(tasks.indexOf(archived.get(i)));
+        }
+        saveChanges(tasks);
+        return archived;
+    }
+
+    @Override
+    public List<AbstractTask> findArchived(String keyword) {
+        List<AbstractTask> foundTasks = new ArrayList<>();
+        for (AbstractTask task : decodeAll(archivedLines)) {
+            if (task.getDescription().contains(keyword)) {
+                foundTasks.add(task);
+            }
+        }
+        return foundTasks;
+    }
+
+    private List<AbstractTask> decodeAll(List<String> markdownLines) {
+        List<AbstractTask> tasks = new ArrayList<>();
+        for (String line : markdownLines) {
+            AbstractTask task = lineDecoder.decode(line, 0, line.length());
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,204 @@
+package controllers;
+
+import java.util.List;
+
+import tasks.AbstractTask;
+
+/**
+ * A single mutation recorded in the storage journal.
+ * Each record is written as one line made up of a sequence number,
+ * an operation code and the payload of the operation.
+ */
+class JournalRecord {
+    /**
+     * The kind of mutation a record describes, together with its one-letter code.
+     */
+    enum Operation {
+        ADD('A'),
+        MARK('M'),
+        UNMARK('U'),
+        TAG('T'),
+        DELETE('D'),
+        INSERT('I'),
+        RESTORE('R'),
+        CHECKPOINT('C');
+
+        private final char code;
+
+        Operation(char code) {
+            this.code = code;
+        }
+
+        /**
+         * Returns the Operation that matches the given code.
+         *
+         * @param code the one-letter code of the operation
+         * @return the matching Operation, or null if no match is found
+         */
+        static Operation fromCode(char code) {
+            for (Operation operation : Operation.values()) {
+                if (operation.code == code) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final long sequence;
+    private final Operation operation;
+    private final String payload;
+
+    /**
+     * Constructs a JournalRecord.
+     *
+     * @param sequence  the sequence number of the record, increasing with every mutation
+     * @param operation the kind of mutation
+     * @param payload   the markdown line for an add, empty for a checkpoint, the task index followed by
+     *                  the markdown line for an insert or a restore, otherwise the task index followed by any tags
+     */
+    JournalRecord(long sequence, Operation operation, String payload) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.payload = payload;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Operation getOperation() {
+        return operation;
+    }
+
+    String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns the task index stored at the start of the payload.
+     *
+     * @return the task index
+     * @throws NumberFormatException if the payload does not start with an index
+     */
+    int getIndex() {
+        int end = payload.indexOf(' ');
+        return Integer.parseInt(end == -1 ? payload : payload.substring(0, end));
+    }
+
+    /**
+     * Returns the tags stored after the task index in the payload.
+     *
+     * @return the tags, or an empty array if there are none
+     */
+    String[] getTags() {
+        int start = payload.indexOf(' ');
+        if (start == -1) {
+            return new String[0];
+        }
+        return payload.substring(start + 1).split(" ");
+    }
+
+    /**
+     * Returns the markdown line stored after the task index in the payload.
+     *
+     * @return the markdown line, or an empty string if there is none
+     */
+    String getLine() {
+        int start = payload.indexOf(' ');
+        return start == -1 ? "" : payload.substring(start + 1);
+    }
+
+    /**
+     * Applies the record to the given tasks.
+     * A checkpoint clears the tasks, as the records after it add every task again.
+     * An insert puts a new task at the index, and a restore gives the task at the index the status and tags
+     * of the line, keeping the task itself.
+     * Records that no longer fit the tasks, such as an index out of range, are skipped.
+     *
+     * @param tasks   the tasks to apply the record to
+     * @param decoder the decoder used to parse the markdown line of an add
+     * @return the task removed by a delete, or null if no task was removed
+     */
+    AbstractTask applyTo(List<AbstractTask> tasks, LineDecoder decoder) {
+        if (operation == Operation.CHECKPOINT) {
+            tasks.clear();
+            return null;
+        }
+        if (operation == Operation.ADD) {
+            AbstractTask task = decoder.decode(payload, 0, payload.length());
+            if (task != null) {
+                tasks.add(task);
+            }
+            return null;
+        }
+        int index;
+        try {
+            index = getIndex();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (operation == Operation.INSERT) {
+            String line = getLine();
+            AbstractTask task = decoder.decode(line, 0, line.length());
+            if (task != null && index >= 0 && index <= tasks.size()) {
+                tasks.add(index, task);
+            }
+            return null;
+        }
+        if (index < 0 || index >= tasks.size()) {
+            return null;
+        }
+        switch (operation) {
+        case MARK -> tasks.get(index).markAsDone();
+        case UNMARK -> tasks.get(index).markAsUndone();
+        case TAG -> tasks.get(index).addTags(getTags());
+        case RESTORE -> {
+            String line = getLine();
+            AbstractTask restored = decoder.decode(line, 0, line.length());
+            if (restored != null) {
+                tasks.get(index).restoreStatus(restored.isDone(), restored.getTags());
+            }
+        }
+        case DELETE -> {
+            return tasks.remove(index);
+        }
+        default -> {
+        }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the record to the line written to the journal, without the line terminator.
+     *
+     * @return the journal line
+     */
+    String toLine() {
+        return sequence + " " + operation.code + " " + payload;
+    }
+
+    /**
+     * Parses a journal line into a JournalRecord.
+     * A torn or otherwise malformed line, such as one left behind by a crash, yields null.
+     *
+     * @param line the journal line
+     * @return the JournalRecord, or null if the line is not a valid record
+     */
+    static JournalRecord parse(String line) {
+        int firstSpace = line.indexOf(' ');
+        if (firstSpace <= 0 || line.length() < firstSpace + 3 || line.charAt(firstSpace + 2) != ' ') {
+            return null;
+        }
+        Operation operation = Operation.fromCode(line.charAt(firstSpace + 1));
+        if (operation == null) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(line.substring(0, firstSpace));
+            return new JournalRecord(sequence, operation, line.substring(firstSpace + 3));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
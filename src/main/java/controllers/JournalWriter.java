@@ -0,0 +1,173 @@
+package controllers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends journal records on a single background thread, so commands do not wait for the disk.
+ * Records from many commands are grouped into one write followed by one force: a batch is written
+ * once it holds the maximum number of records, or once the flush interval has passed since its
+ * first record, whichever comes first.
+ * A batch that fails to be written is dropped, and its failure is reported once, by the next call to
+ * append or flush; the writer then carries on with the batches after it.
+ */
+class JournalWriter {
+    // A distinct instance, compared by identity, so no journal line can be mistaken for it.
+    private static final String FLUSH_MARKER = new String("flush");
+
+    private final File target;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+    private final LinkedBlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Object lock = new Object();
+    private long enqueued;
+    private long written;
+    private IOException failure;
+
+    /**
+     * Constructs a JournalWriter and starts its writer thread.
+     *
+     * @param target              the journal file to append to
+     * @param flushIntervalMillis the longest time in milliseconds a record waits for others to join its batch
+     * @param maxBatchSize        the largest number of records written in one batch
+     */
+    JournalWriter(File target, long flushIntervalMillis, int maxBatchSize) {
+        this.target = target;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        Thread thread = new Thread(this::run, "journal-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a line to be appended to the journal.
+     *
+     * @param line the journal line, including its line terminator
+     * @throws IOException if an earlier batch failed to be written since the last failure was reported
+     */
+    void append(String line) throws IOException {
+        synchronized (lock) {
+            enqueued++;
+            queue.add(line);
+            reportFailure();
+        }
+    }
+
+    /**
+     * Blocks until every line queued so far has been written and forced to disk, or dropped with its batch.
+     *
+     * @throws IOException if a batch failed to be written since the last failure was reported
+     */
+    void flush() throws IOException {
+        synchronized (lock) {
+            long target = enqueued;
+            if (written < target) {
+                queue.add(FLUSH_MARKER);
+            }
+            while (written < target) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while flushing the journal", e);
+                }
+            }
+            reportFailure();
+        }
+    }
+
+    /**
+     * Throws the failure of a dropped batch, if there is one, and forgets it, so it is reported only once.
+     * Must be called while holding the lock.
+     */
+    private void reportFailure() throws IOException {
+        if (failure != null) {
+            IOException reported = failure;
+            failure = null;
+            throw reported;
+        }
+    }
+
+    /**
+     * Collects batches from the queue and writes them until the application exits.
+     */
+    private void run() {
+        List<String> batch = new ArrayList<>();
+        while (true) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            IOException batchFailure = null;
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                batchFailure = e;
+            }
+            synchronized (lock) {
+                written += batch.size();
+                if (batchFailure != null) {
+                    failure = batchFailure;
+                }
+                lock.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Waits for a first record, then gathers more until the batch is full, the flush interval has passed,
+     * or a flush is requested.
+     */
+    private void collectBatch(List<String> batch) throws InterruptedException {
+        String line = queue.take();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (line != FLUSH_MARKER) {
+            batch.add(line);
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            line = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (line == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Appends the batch to the journal in one write, followed by one force.
+     * The file is reopened for every batch, as compaction may have moved the previous one aside.
+     */
+    private void writeBatch(List<String> batch) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : batch) {
+            content.append(line);
+        }
+        File parentDir = target.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+}
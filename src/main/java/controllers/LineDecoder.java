@@ -0,0 +1,162 @@
+package controllers;
+
+import helpers.TextSlices;
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+/**
+ * Decodes markdown lines of the storage file into tasks in a single pass.
+ * The decoder tracks field offsets within the line instead of cutting it into substrings, so the only
+ * strings it creates are the description and tags never seen before. Tags are interned in a table
+ * owned by the decoder, letting every task with the same tag share one String. A decoder is not
+ * thread-safe; parallel loaders use one per chunk.
+ */
+class LineDecoder {
+    private static final String TAGS_SEPARATOR = " #tags ";
+    private static final int CONTENT_START = 8;
+
+    private String[] tagTable = new String[64];
+    private int tagCount;
+
+    /**
+     * Decodes the line between start and end of the given text into a task.
+     *
+     * @param text  the text holding the line
+     * @param start the index of the first character of the line
+     * @param end   the index after the last character of the line, excluding the line terminator
+     * @return the task, or null if the line is not a valid task
+     */
+    AbstractTask decode(CharSequence text, int start, int end) {
+        // The shortest valid line is "- [ ] T: ", nine characters long.
+        if (end - start < CONTENT_START + 1) {
+            return null;
+        }
+        if (text.charAt(start) != '-' || text.charAt(start + 1) != ' ' || text.charAt(start + 2) != '[') {
+            return null;
+        }
+        char checkMark = text.charAt(start + 3);
+        if (checkMark != 'X' && checkMark != ' ') {
+            return null;
+        }
+        if (text.charAt(start + 4) != ']' || text.charAt(start + 5) != ' ') {
+            return null;
+        }
+        char letter = text.charAt(start + 6);
+        if (text.charAt(start + 7) != ':' || text.charAt(start + 8) != ' ') {
+            return null;
+        }
+
+        int contentStart = start + CONTENT_START;
+        int tagsStart = TextSlices.lastIndexOf(text, TAGS_SEPARATOR, contentStart, end);
+        int contentEnd = tagsStart == -1 ? end : tagsStart;
+        while (contentStart < contentEnd && text.charAt(contentStart) <= ' ') {
+            contentStart++;
+        }
+        while (contentEnd > contentStart && text.charAt(contentEnd - 1) <= ' ') {
+            contentEnd--;
+        }
+
+        AbstractTask task = switch (letter) {
+        case 'T' -> TodoTask.parseString(text, contentStart, contentEnd);
+        case 'D' -> DeadlineTask.parseString(text, contentStart, contentEnd);
+        case 'E' -> EventTask.parseString(text, contentStart, contentEnd);
+        default -> null;
+        };
+        if (task == null) {
+            return null;
+        }
+        if (checkMark == 'X') {
+            task.markAsDone();
+        }
+        if (tagsStart != -1) {
+            String[] tags = decodeTags(text, tagsStart + TAGS_SEPARATOR.length(), end);
+            if (tags.length > 0) {
+                task.addTags(tags);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Splits the space-separated tags between start and end, interning each one.
+     */
+    private String[] decodeTags(CharSequence text, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != ' ' && (i == start || text.charAt(i - 1) == ' ')) {
+                count++;
+            }
+        }
+        String[] tags = new String[count];
+        int tagIndex = 0;
+        int i = start;
+        while (tagIndex < count) {
+            while (text.charAt(i) == ' ') {
+                i++;
+            }
+            int tagEnd = i;
+            while (tagEnd < end && text.charAt(tagEnd) != ' ') {
+                tagEnd++;
+            }
+            tags[tagIndex++] = intern(text, i, tagEnd);
+            i = tagEnd;
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the interned String equal to the slice, creating it only if it has not been seen before.
+     * The table uses open addressing with linear probing and doubles once it is half full.
+     */
+    private String intern(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int mask = tagTable.length - 1;
+        int slot = hash & mask;
+        while (tagTable[slot] != null) {
+            String candidate = tagTable[slot];
+            if (candidate.hashCode() == hash && contentEquals(candidate, text, start, end)) {
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String tag = text.subSequence(start, end).toString();
+        tagTable[slot] = tag;
+        if (++tagCount * 2 > tagTable.length) {
+            grow();
+        }
+        return tag;
+    }
+
+    private static boolean contentEquals(String candidate, CharSequence text, int start, int end) {
+        if (candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        String[] oldTable = tagTable;
+        tagTable = new String[oldTable.length * 2];
+        int mask = tagTable.length - 1;
+        for (String tag : oldTable) {
+            if (tag == null) {
+                continue;
+            }
+            int slot = tag.hashCode() & mask;
+            while (tagTable[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            tagTable[slot] = tag;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package controllers;
 
 import commands.AbstractCommand;
+import commands.ArchiveCommand;
+import commands.BusyCommand;
 import commands.ByeCommand;
 import commands.DeadlineCommand;
 import commands.DeleteCommand;
@@ -8,8 +10,12 @@ import commands.EventCommand;
 import commands.FindCommand;
 import commands.ListCommand;
 import commands.MarkCommand;
+import commands.QueryCommand;
+import commands.RedoCommand;
+import commands.StatsCommand;
 import commands.TagCommand;
 import commands.TodoCommand;
+import commands.UndoCommand;
 import commands.UnknownCommand;
 import commands.UnmarkCommand;
 import commands.UpcomingCommand;
@@ -47,7 +53,13 @@ public class Parser {
         case EVENT -> new EventCommand(arguments);
         case DELETE -> new DeleteCommand(arguments);
         case UPCOMING -> new UpcomingCommand(arguments);
+        case BUSY -> new BusyCommand(arguments);
         case FIND -> new FindCommand(arguments);
+        case QUERY -> new QueryCommand(arguments);
+        case STATS -> new StatsCommand(arguments);
+        case ARCHIVE -> new ArchiveCommand(arguments);
+        case UNDO -> new UndoCommand(arguments);
+        case REDO -> new RedoCommand(arguments);
         case BYE -> new ByeCommand(arguments);
         default -> new UnknownCommand(arguments);
         };
@@ -0,0 +1,234 @@
+package controllers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A storage backend that keeps nothing but a log of mutations, split into segment files.
+ * Every mutation is appended to the newest segment as a journal record, and a new segment is started
+ * once the newest one passes the size limit, so no single file grows without bound. Saving checkpoints
+ * the log once it spans more than one segment: the current tasks are written to a fresh segment opening
+ * with a checkpoint record, and every older segment is deleted. Loading replays the segments in order.
+ */
+public class SegmentedLogStorage implements StorageBackend {
+    public static final long DEFAULT_SEGMENT_LIMIT = 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ARCHIVE_DIRECTORY = "archive";
+
+    private final File directory;
+    private final long segmentLimit;
+    private final Archive archive;
+    private final LineDecoder lineDecoder = new LineDecoder();
+    private final TreeMap<Integer, File> segments = new TreeMap<>();
+    private long sequence;
+    private long segmentBytes;
+
+    /**
+     * Constructs a SegmentedLogStorage keeping its segments in the given directory.
+     *
+     * @param directoryPath the path to the directory holding the segments
+     * @param segmentLimit  the segment size in bytes after which a new segment is started
+     */
+    public SegmentedLogStorage(String directoryPath, long segmentLimit) {
+        this.directory = new File(directoryPath);
+        this.segmentLimit = segmentLimit;
+        this.archive = new Archive(new File(directory, ARCHIVE_DIRECTORY));
+    }
+
+    /**
+     * Replays every segment in order. A torn record at the end of a segment, left behind by a crash, is ignored.
+     *
+     * @return a list of AbstractTask objects
+     * @throws IOException if an I/O error occurs while reading a segment
+     */
+    @Override
+    public List<AbstractTask> loadFile() throws IOException {
+        segments.clear();
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    segments.put(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    // Not a segment written by this backend.
+                }
+            }
+        }
+        List<AbstractTask> tasks = new ArrayList<>();
+        boolean isTorn = false;
+        for (File segment : segments.values()) {
+            String content = Files.readString(segment.toPath(), StandardCharsets.UTF_8);
+            String[] lines = content.split("\n");
+            isTorn = !content.isEmpty() && !content.endsWith("\n");
+            int complete = isTorn ? lines.length - 1 : lines.length;
+            for (int i = 0; i < complete; i++) {
+                JournalRecord record = JournalRecord.parse(lines[i]);
+                if (record != null) {
+                    record.applyTo(tasks, lineDecoder);
+                    sequence = Math.max(sequence, record.getSequence());
+                }
+            }
+        }
+        segmentBytes = segments.isEmpty() ? 0 : segments.lastEntry().getValue().length();
+        if (isTorn) {
+            // New records never follow a torn one in the same segment, where they would be read as part of it.
+            segmentBytes = segmentLimit;
+        }
+        return tasks;
+    }
+
+    /**
+     * Checkpoints the log if it spans more than one segment. Every mutation is already in the log,
+     * so there is nothing else to write.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the checkpoint
+     */
+    @Override
+    public void saveChanges(TaskList tasks) throws IOException {
+        if (segments.size() > 1) {
+            checkpoint(tasks.getTasks());
+        }
+        tasks.clearChanges();
+    }
+
+    /**
+     * Checkpoints the log with the current tasks, since the mutations that led to them may not be in it.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the checkpoint
+     */
+    @Override
+    public void saveAll(TaskList tasks) throws IOException {
+        checkpoint(tasks.getTasks());
+        tasks.clearChanges();
+    }
+
+    @Override
+    public void flush() {
+        // Records are appended to the segment as they happen.
+    }
+
+    @Override
+    public void journalAdd(TaskList tasks, AbstractTask task) throws IOException {
+        append(JournalRecord.Operation.ADD, task.toMarkdownString());
+    }
+
+    @Override
+    public void journalMark(TaskList tasks, int index, boolean isDone) throws IOException {
+        append(isDone ? JournalRecord.Operation.MARK : JournalRecord.Operation.UNMARK, String.valueOf(index));
+    }
+
+    @Override
+    public void journalTag(TaskList tasks, int index, String... tags) throws IOException {
+        append(JournalRecord.Operation.TAG, index + " " + String.join(" ", tags));
+    }
+
+    @Override
+    public void journalDelete(TaskList tasks, int index) throws IOException {
+        append(JournalRecord.Operation.DELETE, String.valueOf(index));
+    }
+
+    @Override
+    public void journalInsert(TaskList tasks, int index, AbstractTask task) throws IOException {
+        append(JournalRecord.Operation.INSERT, index + " " + task.toMarkdownString());
+    }
+
+    @Override
+    public void journalRestore(TaskList tasks, int index) throws IOException {
+        append(JournalRecord.Operation.RESTORE, index + " " + tasks.getTask(index).toMarkdownString());
+    }
+
+    /**
+     * Moves the completed tasks that went cold before the cutoff into the archive, then logs their deletion.
+     *
+     * @param tasks          the TaskList to archive from
+     * @param cutoff         the date before which completed tasks are archived
+     * @param isTodoIncluded whether every done todo is archived too, as todos have no date to age by
+     * @return the archived tasks, in list order
+     * @throws IOException if an I/O error occurs while writing the archive or the log
+     */
+    @Override
+    public List<AbstractTask> archiveCompleted(TaskList tasks, LocalDate cutoff, boolean isTodoIncluded)
+            throws IOException {
+        List<AbstractTask> archived = tasks.findCompletedBefore(cutoff, isTodoIncluded);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        archive.append(archived);
+        for (int i = archived.size() - 1; i >= 0; i--) {
+            int index = tasks.indexOf(archived.get(i));
+            tasks.deleteTask(index);
+            journalDelete(tasks, index);
+        }
+        return archived;
+    }
+
+    @Override
+    public List<AbstractTask> findArchived(String keyword) throws IOException {
+        return archive.find(keyword);
+    }
+
+    /**
+     * Appends a record to the newest segment, starting a new segment first if the newest one is full.
+     */
+    private void append(JournalRecord.Operation operation, String payload) throws IOException {
+        if (segments.isEmpty() || segmentBytes >= segmentLimit) {
+            int next = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+            segments.put(next, segmentFile(next));
+            segmentBytes = 0;
+        }
+        byte[] line = (new JournalRecord(++sequence, operation, payload).toLine() + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        directory.mkdirs();
+        Files.write(segments.lastEntry().getValue().toPath(), line,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentBytes += line.length;
+    }
+
+    /**
+     * Writes the given tasks to a new segment opening with a checkpoint record, then deletes every older segment.
+     * The new segment is moved into place only once complete, so a replay never sees half a checkpoint.
+     */
+    private void checkpoint(List<AbstractTask> tasks) throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append(new JournalRecord(++sequence, JournalRecord.Operation.CHECKPOINT, "").toLine()).append("\n");
+        for (AbstractTask task : tasks) {
+            content.append(new JournalRecord(++sequence, JournalRecord.Operation.ADD, task.toMarkdownString())
+                    .toLine()).append("\n");
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        int next = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        File target = segmentFile(next);
+        directory.mkdirs();
+        File temporary = new File(target.getPath() + ".tmp");
+        Files.write(temporary.toPath(), bytes);
+        Files.move(temporary.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (File segment : segments.values()) {
+            Files.deleteIfExists(segment.toPath());
+        }
+        segments.clear();
+        segments.put(next, target);
+        segmentBytes = bytes.length;
+    }
+
+    private File segmentFile(int segment) {
+        return new File(directory, SEGMENT_PREFIX + String.format("%06d", segment) + SEGMENT_SUFFIX);
+    }
+}
@@ -1,24 +1,78 @@
 package controllers;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import datastructures.TaskChange;
 import datastructures.TaskList;
 import tasks.AbstractTask;
-import tasks.DeadlineTask;
-import tasks.EventTask;
-import tasks.TodoTask;
 
 /**
  * Handles storage operations such as loading and saving tasks to a file.
+ * In journal mode every mutation is appended as a small record to a journal next to the
+ * markdown file, so a command costs O(1) I/O. The journal is replayed over the markdown
+ * snapshot on load, and compacted into the snapshot in the background once it grows too large.
+ * With group commit enabled, journal appends are batched on a background writer as well.
  */
-public class Storage {
+public class Storage implements StorageBackend {
+    public static final long DEFAULT_JOURNAL_LIMIT = 64 * 1024;
+    public static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 4 * 1024 * 1024;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".journal.old";
+    private static final String BINARY_SUFFIX = ".bin";
+    private static final String ARCHIVE_SUFFIX = ".archive";
+    private static final String SEQUENCE_PREFIX = "<!-- zephyr:seq=";
+    private static final String SEQUENCE_SUFFIX = " -->";
+    private static final int SEQUENCE_WIDTH = 19;
+    private static final int SEQUENCE_HEADER_LENGTH = SEQUENCE_PREFIX.length() + SEQUENCE_WIDTH
+            + SEQUENCE_SUFFIX.length();
+
     private File file;
+    private final File journal;
+    private final File compactingJournal;
+    private final File binaryFile;
+    private final Archive archive;
+    private final boolean isJournaling;
+    private final long journalLimit;
+    private final ExecutorService compactor;
+    private Future<?> pendingCompaction;
+    private long sequence;
+    private long snapshotSequence;
+    private long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
+    private long fileEnd = -1;
+    private long tombstoneBytes;
+    private boolean hasSequenceHeader;
+    private boolean isBinarySnapshotStale;
+    private boolean isCompactionHeld;
+    private final List<AbstractTask> replayedRemovals = new ArrayList<>();
+    private JournalWriter journalWriter;
+    private long journalBytes;
+    private final LineDecoder lineDecoder = new LineDecoder();
+    private FileWatcher watcher;
+    private byte[] knownContent;
+    private long[] knownHashes;
+    private AbstractTask[] knownTasks;
 
     /**
      * Constructs a new Storage object with the given file path.
@@ -26,7 +80,29 @@ public class Storage {
      * @param filePath the path to the file used for storage
      */
     public Storage(String filePath) {
+        this(filePath, false, DEFAULT_JOURNAL_LIMIT);
+    }
+
+    /**
+     * Constructs a new Storage object with the given file path and journal settings.
+     *
+     * @param filePath     the path to the file used for storage
+     * @param isJournaling whether mutations are appended to a journal as they happen
+     * @param journalLimit the journal size in bytes after which it is compacted into the file
+     */
+    public Storage(String filePath, boolean isJournaling, long journalLimit) {
         this.file = new File(filePath);
+        this.journal = new File(filePath + JOURNAL_SUFFIX);
+        this.compactingJournal = new File(filePath + COMPACTING_SUFFIX);
+        this.binaryFile = new File(filePath + BINARY_SUFFIX);
+        this.archive = new Archive(new File(filePath + ARCHIVE_SUFFIX));
+        this.isJournaling = isJournaling;
+        this.journalLimit = journalLimit;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -41,41 +117,896 @@ public class Storage {
 
     /**
      * Loads tasks from the storage file.
+     * The binary snapshot next to the file is used instead when it still matches the file.
      *
      * @return a list of AbstractTask objects loaded from the file
      * @throws IOException if an I/O error occurs while reading the file
      */
+    @Override
     public List<AbstractTask> loadFile() throws IOException {
         List<AbstractTask> lines = new ArrayList<>();
-        if (!file.exists()) {
-            return lines;
+        snapshotSequence = 0;
+        replayedRemovals.clear();
+        BinarySnapshot snapshot = BinarySnapshot.read(binaryFile, file);
+        isBinarySnapshotStale = snapshot == null;
+        if (snapshot != null) {
+            lines = snapshot.getTasks();
+            snapshotSequence = snapshot.getSequence();
+        } else if (file.exists()) {
+            lines = file.length() >= parallelLoadThreshold && file.length() <= Integer.MAX_VALUE
+                    ? loadFileParallel()
+                    : loadFileSequential();
         }
-        BufferedReader reader = new BufferedReader(new FileReader(file));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            AbstractTask task = parseLine(line);
-            if (task == null) {
-                continue;
+        sequence = snapshotSequence;
+        journalBytes = journal.length();
+        detectFileLayout();
+        if (isJournaling) {
+            replayJournal(compactingJournal, lines);
+            replayJournal(journal, lines);
+            if (compactingJournal.exists()) {
+                // A compaction was interrupted; fold everything into a fresh snapshot now.
+                saveFile(lines);
             }
-            lines.add(task);
         }
-        reader.close();
         return lines;
     }
 
     /**
-     * Saves the given list of tasks to the storage file.
+     * Reads the storage file and parses it on the calling thread.
+     */
+    private List<AbstractTask> loadFileSequential() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        int start = readSequenceHeader(buffer);
+        return new ChunkedLoader(buffer, start, buffer.limit()).parseChunk();
+    }
+
+    /**
+     * Memory-maps the storage file and parses newline-aligned chunks of it on the common fork-join pool.
+     */
+    private List<AbstractTask> loadFileParallel() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int start = readSequenceHeader(buffer);
+            ChunkedLoader loader = new ChunkedLoader(buffer, start, buffer.limit());
+            return ForkJoinPool.commonPool().invoke(loader);
+        }
+    }
+
+    /**
+     * Reads the sequence header at the start of the buffer, if there is one.
+     *
+     * @return the offset of the first line after the header
+     */
+    private int readSequenceHeader(ByteBuffer buffer) {
+        if (!startsWith(buffer, SEQUENCE_PREFIX)) {
+            return 0;
+        }
+        int end = 0;
+        while (end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        byte[] header = new byte[end];
+        buffer.get(0, header);
+        snapshotSequence = parseSequenceHeader(new String(header, StandardCharsets.UTF_8).trim());
+        return Math.min(end + 1, buffer.limit());
+    }
+
+    /**
+     * Inspects the storage file to find out whether it can be patched in place.
+     * That requires the file to end with a newline and, in journal mode, to start with a fixed-width header.
+     */
+    private void detectFileLayout() throws IOException {
+        tombstoneBytes = 0;
+        hasSequenceHeader = false;
+        fileEnd = -1;
+        if (!file.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(SEQUENCE_HEADER_LENGTH + 1);
+            channel.read(header, 0);
+            header.flip();
+            hasSequenceHeader = header.limit() == SEQUENCE_HEADER_LENGTH + 1 && startsWith(header, SEQUENCE_PREFIX)
+                    && header.get(SEQUENCE_HEADER_LENGTH) == '\n';
+            ByteBuffer last = ByteBuffer.allocate(1);
+            if (size == 0 || channel.read(last, size - 1) == 1 && last.get(0) == '\n') {
+                fileEnd = size;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the buffer starts with the given ASCII prefix.
+     */
+    private static boolean startsWith(ByteBuffer buffer, String prefix) {
+        if (buffer.limit() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves journal appends onto a background writer that groups them into batched writes.
+     * A batch is written and forced once it holds the given number of records, or once the given
+     * interval has passed since its first record. Commands then no longer wait for the disk;
+     * use {@link #flush()} to wait until every recorded mutation is durable.
+     *
+     * @param flushIntervalMillis the longest time in milliseconds a record waits for others to join its batch
+     * @param maxBatchSize        the largest number of records written in one batch
+     */
+    public void setGroupCommit(long flushIntervalMillis, int maxBatchSize) {
+        this.journalWriter = new JournalWriter(journal, flushIntervalMillis, maxBatchSize);
+    }
+
+    /**
+     * Blocks until every mutation recorded so far has been written to the journal and forced to disk.
+     *
+     * @throws IOException if the background writer failed to write a batch
+     */
+    @Override
+    public void flush() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.flush();
+        }
+    }
+
+    /**
+     * Waits for the pending journal appends before the storage file is written.
+     * If the background writer dropped a batch, its failure is not passed on: the whole file is rewritten
+     * instead, as the tasks in memory already hold every mutation the lost records described.
+     */
+    private void flushBeforeWrite() {
+        try {
+            flush();
+        } catch (IOException e) {
+            fileEnd = -1;
+        }
+    }
+
+    /**
+     * Sets the file size in bytes from which the storage file is loaded in parallel.
+     * Smaller files are read sequentially, as the fork-join overhead outweighs the gain.
+     *
+     * @param parallelLoadThreshold the file size in bytes
+     */
+    public void setParallelLoadThreshold(long parallelLoadThreshold) {
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Saves the given list of tasks to the storage file, together with its binary snapshot.
+     * In journal mode the journal is cleared, as the file now holds every recorded mutation.
      *
      * @param tasks the list of tasks to save
      * @throws IOException if an I/O error occurs while writing to the file
      */
     public void saveFile(List<AbstractTask> tasks) throws IOException {
+        awaitCompaction();
+        flushBeforeWrite();
         createIfDirectoryNotFound();
-        FileWriter fileWriter = new FileWriter(file);
+        byte[] content = renderFile(tasks);
+        Files.write(file.toPath(), content);
+        rememberContent(content, tasks);
+        BinarySnapshot.write(binaryFile, BinarySnapshot.encode(tasks, sequence), file, content);
+        isBinarySnapshotStale = false;
+        clearJournal();
+    }
+
+    /**
+     * Saves only the changes tracked by the given TaskList to the storage file.
+     * Changed lines that still fit are overwritten in place, padded with spaces, deleted lines are blanked
+     * out and new tasks are appended, all through positioned writes. The whole file is rewritten instead
+     * when a line outgrows its slot, when a new task sits before others, or when blanked space makes up
+     * half of the file.
+     * Patches delete the binary snapshot rather than rewrite it, as that would cost as much as a full rewrite;
+     * {@link #saveStartupSnapshot(TaskList)} writes it again once the session ends.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing to the file
+     */
+    @Override
+    public void saveChanges(TaskList tasks) throws IOException {
+        awaitCompaction();
+        flushBeforeWrite();
+        List<FilePatch> patches = planPatches(tasks);
+        if (patches == null) {
+            saveFile(tasks.getTasks());
+        } else {
+            if (!patches.isEmpty()) {
+                invalidateBinarySnapshot();
+            }
+            applyPatches(patches);
+            rememberPatches(patches, tasks.getTasks());
+            clearJournal();
+        }
+        tasks.clearChanges();
+    }
+
+    /**
+     * Saves the changes tracked by the given TaskList, then writes the binary snapshot again if patches
+     * deleted it, so the next startup can skip parsing. The snapshot is written from the tasks in memory.
+     * It identifies the file by the content this Storage last wrote to it when the file is watched, and by
+     * the file as read back otherwise.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the file or the snapshot
+     */
+    @Override
+    public void saveStartupSnapshot(TaskList tasks) throws IOException {
+        saveChanges(tasks);
+        if (!isBinarySnapshotStale || !file.exists()) {
+            return;
+        }
+        byte[] content = watcher != null ? knownContent : Files.readAllBytes(file.toPath());
+        BinarySnapshot.write(binaryFile, BinarySnapshot.encode(tasks.getTasks(), sequence), file, content);
+        isBinarySnapshotStale = false;
+    }
+
+    /**
+     * Deletes the binary snapshot before the storage file is patched, so a startup never loads it for a file
+     * it no longer matches.
+     */
+    private void invalidateBinarySnapshot() throws IOException {
+        if (!isBinarySnapshotStale) {
+            Files.deleteIfExists(binaryFile.toPath());
+            isBinarySnapshotStale = true;
+        }
+    }
+
+    /**
+     * Deletes the journal once the storage file holds every recorded mutation.
+     */
+    private void clearJournal() throws IOException {
+        if (!isJournaling) {
+            return;
+        }
+        Files.deleteIfExists(journal.toPath());
+        Files.deleteIfExists(compactingJournal.toPath());
+        journalBytes = 0;
+    }
+
+    /**
+     * Works out the positioned writes that bring the storage file up to date with the tracked changes.
+     * The new locations of the tasks are recorded right away, as they hold once the writes are applied.
+     *
+     * @return the patches to apply, or null if the file has to be rewritten in full
+     */
+    private List<FilePatch> planPatches(TaskList tasks) {
+        if (fileEnd < 0 || tasks.hasInsertedTasks() || isJournaling && !hasSequenceHeader) {
+            return null;
+        }
+        List<FilePatch> patches = new ArrayList<>();
+        long end = fileEnd;
+        long tombstones = tombstoneBytes;
+        List<AbstractTask> removed = new ArrayList<>(replayedRemovals);
+        removed.addAll(tasks.getRemovedTasks());
+        for (AbstractTask task : removed) {
+            patches.add(new FilePatch(task.getFileOffset(), padded(new byte[0], task.getFileLength())));
+            tombstones += task.getFileLength() + 1;
+        }
+        List<AbstractTask> appended = new ArrayList<>();
+        for (AbstractTask task : tasks.getDirtyTasks()) {
+            byte[] line = task.toMarkdownString().getBytes(StandardCharsets.UTF_8);
+            if (task.getFileOffset() < 0) {
+                appended.add(task);
+                continue;
+            }
+            if (line.length > task.getFileLength()) {
+                return null;
+            }
+            patches.add(new FilePatch(task.getFileOffset(), padded(line, task.getFileLength())));
+            tombstones += task.getFileLength() - line.length;
+        }
+        ByteArrayOutputStream tail = new ByteArrayOutputStream();
+        for (AbstractTask task : appended) {
+            byte[] line = task.toMarkdownString().getBytes(StandardCharsets.UTF_8);
+            task.setFileLocation(end + tail.size(), line.length);
+            tail.writeBytes(line);
+            tail.write('\n');
+        }
+        if (tombstones * 2 > end + tail.size()) {
+            return null;
+        }
+        if (tail.size() > 0) {
+            patches.add(new FilePatch(end, tail.toByteArray()));
+        }
+        if (isJournaling) {
+            patches.add(new FilePatch(0, renderSequenceHeader()));
+        }
+        for (AbstractTask task : tasks.getDirtyTasks()) {
+            task.setFileLocation(task.getFileOffset(), task.getFileLength());
+        }
+        fileEnd = end + tail.size();
+        tombstoneBytes = tombstones;
+        replayedRemovals.clear();
+        return patches;
+    }
+
+    /**
+     * Pads the line with spaces up to the given length.
+     */
+    private static byte[] padded(byte[] line, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, line.length, length, (byte) ' ');
+        System.arraycopy(line, 0, bytes, 0, line.length);
+        return bytes;
+    }
+
+    /**
+     * Applies the patches to the storage file through positioned writes, followed by a single force.
+     * If any write fails, the next save rewrites the whole file.
+     */
+    private void applyPatches(List<FilePatch> patches) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            for (FilePatch patch : patches) {
+                ByteBuffer bytes = ByteBuffer.wrap(patch.getBytes());
+                long position = patch.getPosition();
+                while (bytes.hasRemaining()) {
+                    position += channel.write(bytes, position);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            fileEnd = -1;
+            throw e;
+        }
+    }
+
+    /**
+     * Starts watching the storage file for edits made by other programs.
+     * The current content of the file becomes the known content that later edits are compared against.
+     *
+     * @param tasks the TaskList loaded from the file
+     * @throws IOException if an I/O error occurs while reading or watching the file
+     */
+    @Override
+    public void watch(TaskList tasks) throws IOException {
+        watcher = new FileWatcher(file);
+        watcher.start();
+        rememberContent(file.exists() ? Files.readAllBytes(file.toPath()) : new byte[0], tasks.getTasks());
+    }
+
+    /**
+     * Applies edits made to the storage file by other programs to the given TaskList, if the file has changed.
+     * The file is compared with the known content line by line through hashes: lines kept at the start and end,
+     * and lines that reappear in order in between, keep their tasks. Only the remaining lines are parsed, and
+     * their tasks inserted after the task of the nearest kept line above them, all in one batch; the tasks of
+     * vanished lines are deleted. Writes made by this Storage update the known content as they happen, so they
+     * compare equal.
+     * In journal mode the result is saved at once, as pending journal records refer to the old task positions.
+     * The undo history of the TaskList is cleared once it changes, as the steps logged before refer to the
+     * old task positions too, and an edit made outside of Zephyr is not a step that undo should revert.
+     *
+     * @param tasks the TaskList to bring up to date
+     * @return true if the TaskList changed, false otherwise
+     * @throws IOException if an I/O error occurs while reading or saving the file
+     */
+    @Override
+    public boolean reloadExternalChanges(TaskList tasks) throws IOException {
+        if (watcher == null || !watcher.pollChanged()) {
+            return false;
+        }
+        awaitCompaction();
+        flushBeforeWrite();
+        if (!file.exists()) {
+            return false;
+        }
+        byte[] content = Files.readAllBytes(file.toPath());
+        int[] starts = lineStarts(content);
+        int lineCount = starts.length - 1;
+        long[] hashes = lineHashes(content, starts);
+        int oldCount = knownHashes.length;
+
+        int prefix = 0;
+        while (prefix < Math.min(oldCount, lineCount) && knownHashes[prefix] == hashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < Math.min(oldCount, lineCount) - prefix
+                && knownHashes[oldCount - 1 - suffix] == hashes[lineCount - 1 - suffix]) {
+            suffix++;
+        }
+        isBinarySnapshotStale = true;
+        if (prefix == oldCount && prefix == lineCount) {
+            knownContent = content;
+            return false;
+        }
+
+        // Match the remaining lines by hash, keeping the matches in order.
+        Map<Long, ArrayDeque<Integer>> oldLines = new HashMap<>();
+        for (int i = prefix; i < oldCount - suffix; i++) {
+            oldLines.computeIfAbsent(knownHashes[i], hash -> new ArrayDeque<>()).add(i);
+        }
+        AbstractTask[] lineTasks = new AbstractTask[lineCount];
+        boolean[] isKept = new boolean[oldCount];
+        boolean[] isNew = new boolean[lineCount];
+        int lastMatch = prefix - 1;
+        for (int i = 0; i < lineCount; i++) {
+            int match = -1;
+            if (i < prefix) {
+                match = i;
+            } else if (i >= lineCount - suffix) {
+                match = oldCount - lineCount + i;
+            } else {
+                ArrayDeque<Integer> candidates = oldLines.get(hashes[i]);
+                while (candidates != null && !candidates.isEmpty() && candidates.peek() <= lastMatch) {
+                    candidates.poll();
+                }
+                if (candidates != null && !candidates.isEmpty()) {
+                    match = candidates.poll();
+                    lastMatch = match;
+                }
+            }
+            if (match >= 0) {
+                isKept[match] = true;
+                lineTasks[i] = knownTasks[match];
+            } else {
+                isNew[i] = true;
+            }
+        }
+
+        boolean isTaskListChanged = false;
+        for (int i = 0; i < oldCount; i++) {
+            int index = !isKept[i] && knownTasks[i] != null ? tasks.indexOf(knownTasks[i]) : -1;
+            if (index >= 0) {
+                tasks.deleteTask(index);
+                isTaskListChanged = true;
+            }
+        }
+        // New tasks are grouped by the task of the nearest line above that is still in the list.
+        Map<AbstractTask, List<AbstractTask>> insertions = new HashMap<>();
+        AbstractTask anchor = null;
+        for (int i = 0; i < lineCount; i++) {
+            if (!isNew[i]) {
+                if (lineTasks[i] != null && tasks.indexOf(lineTasks[i]) >= 0) {
+                    anchor = lineTasks[i];
+                }
+                continue;
+            }
+            int length = starts[i + 1] - starts[i] - 1;
+            if (length > 0 && content[starts[i] + length - 1] == '\r') {
+                length--;
+            }
+            AbstractTask task = parseLine(new String(content, starts[i], Math.max(length, 0), StandardCharsets.UTF_8));
+            if (task != null) {
+                insertions.computeIfAbsent(anchor, key -> new ArrayList<>()).add(task);
+                lineTasks[i] = task;
+                isTaskListChanged = true;
+            }
+        }
+        if (!insertions.isEmpty()) {
+            tasks.insertTasks(insertions);
+        }
+
+        knownContent = content;
+        knownHashes = hashes;
+        knownTasks = lineTasks;
+        if (isTaskListChanged) {
+            tasks.clearHistory();
+        }
+        if (isTaskListChanged && isJournaling && (journal.exists() || compactingJournal.exists())) {
+            saveFile(tasks.getTasks());
+            tasks.clearChanges();
+        } else {
+            // The task locations no longer match the file; the next save rewrites it in full.
+            fileEnd = -1;
+        }
+        return isTaskListChanged;
+    }
+
+    /**
+     * Records the given file content as known, mapping each line to the task written at its offset.
+     * Does nothing unless the file is being watched.
+     */
+    private void rememberContent(byte[] content, List<AbstractTask> tasks) {
+        if (watcher == null) {
+            return;
+        }
+        Map<Long, AbstractTask> tasksByOffset = new HashMap<>();
         for (AbstractTask task : tasks) {
-            fileWriter.write(task.toMarkdownString() + "\n");
+            if (task.getFileOffset() >= 0) {
+                tasksByOffset.put(task.getFileOffset(), task);
+            }
+        }
+        int[] starts = lineStarts(content);
+        knownContent = content;
+        knownHashes = lineHashes(content, starts);
+        knownTasks = new AbstractTask[starts.length - 1];
+        for (int i = 0; i < knownTasks.length; i++) {
+            knownTasks[i] = tasksByOffset.get((long) starts[i]);
+        }
+    }
+
+    /**
+     * Applies the patches to the known content, as they are applied to the file.
+     */
+    private void rememberPatches(List<FilePatch> patches, List<AbstractTask> tasks) {
+        if (watcher == null) {
+            return;
+        }
+        long length = knownContent.length;
+        for (FilePatch patch : patches) {
+            length = Math.max(length, patch.getPosition() + patch.getBytes().length);
+        }
+        byte[] content = Arrays.copyOf(knownContent, (int) length);
+        for (FilePatch patch : patches) {
+            System.arraycopy(patch.getBytes(), 0, content, (int) patch.getPosition(), patch.getBytes().length);
+        }
+        rememberContent(content, tasks);
+    }
+
+    /**
+     * Returns the offset of the start of every line, followed by the offset one past the end of the last line
+     * plus its terminator. A final line without a terminator counts as a line.
+     */
+    private static int[] lineStarts(byte[] content) {
+        int count = 0;
+        for (byte b : content) {
+            if (b == '\n') {
+                count++;
+            }
+        }
+        boolean hasUnterminatedLine = content.length > 0 && content[content.length - 1] != '\n';
+        int[] starts = new int[count + (hasUnterminatedLine ? 1 : 0) + 1];
+        int line = 1;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '\n') {
+                starts[line++] = i + 1;
+            }
+        }
+        if (hasUnterminatedLine) {
+            starts[line] = content.length + 1;
+        }
+        return starts;
+    }
+
+    /**
+     * Hashes every line with 64-bit FNV-1a, ignoring a trailing carriage return and trailing padding spaces.
+     */
+    private static long[] lineHashes(byte[] content, int[] starts) {
+        long[] hashes = new long[starts.length - 1];
+        for (int i = 0; i < hashes.length; i++) {
+            int end = Math.min(starts[i + 1] - 1, content.length);
+            while (end > starts[i] && (content[end - 1] == '\r' || content[end - 1] == ' ')) {
+                end--;
+            }
+            long hash = 0xcbf29ce484222325L;
+            for (int j = starts[i]; j < end; j++) {
+                hash ^= content[j] & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hashes[i] = hash;
+        }
+        return hashes;
+    }
+
+    /**
+     * Moves the completed tasks that went cold before the cutoff out of the task list into a new archive segment.
+     * The segment is written before the tasks are removed from the storage file, so a crash in between
+     * leaves a task in both places rather than in neither.
+     *
+     * @param tasks          the TaskList to archive from
+     * @param cutoff         the date before which completed tasks are archived
+     * @param isTodoIncluded whether every done todo is archived too, as todos have no date to age by
+     * @return the archived tasks, in list order
+     * @throws IOException if an I/O error occurs while writing the archive or the storage file
+     */
+    @Override
+    public List<AbstractTask> archiveCompleted(TaskList tasks, LocalDate cutoff, boolean isTodoIncluded)
+            throws IOException {
+        List<AbstractTask> archived = tasks.findCompletedBefore(cutoff, isTodoIncluded);
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        archive.append(archived);
+        for (int i = archived.size() - 1; i >= 0; i--) {
+            tasks.deleteTask(tasks.indexOf(archived.get(i)));
+        }
+        saveChanges(tasks);
+        return archived;
+    }
+
+    /**
+     * Finds archived tasks that contain the specified keyword in their descriptions.
+     *
+     * @param keyword the keyword to search for in the task descriptions
+     * @return the matching archived tasks
+     * @throws IOException if an I/O error occurs while reading the archive
+     */
+    @Override
+    public List<AbstractTask> findArchived(String keyword) throws IOException {
+        return archive.find(keyword);
+    }
+
+    /**
+     * Records the addition of a task in the journal.
+     *
+     * @param tasks the TaskList the task was added to
+     * @param task  the task that was added
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalAdd(TaskList tasks, AbstractTask task) throws IOException {
+        appendToJournal(tasks, JournalRecord.Operation.ADD, task.toMarkdownString());
+    }
+
+    /**
+     * Records a change of completion status in the journal.
+     *
+     * @param tasks  the TaskList containing the task
+     * @param index  the index of the task (starts from 0)
+     * @param isDone whether the task was marked as done or as not done
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalMark(TaskList tasks, int index, boolean isDone) throws IOException {
+        JournalRecord.Operation operation = isDone
+                ? JournalRecord.Operation.MARK
+                : JournalRecord.Operation.UNMARK;
+        appendToJournal(tasks, operation, String.valueOf(index));
+    }
+
+    /**
+     * Records the tagging of a task in the journal.
+     *
+     * @param tasks the TaskList containing the task
+     * @param index the index of the task (starts from 0)
+     * @param tags  the tags that were added
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalTag(TaskList tasks, int index, String... tags) throws IOException {
+        appendToJournal(tasks, JournalRecord.Operation.TAG, index + " " + String.join(" ", tags));
+    }
+
+    /**
+     * Records the deletion of a task in the journal.
+     *
+     * @param tasks the TaskList the task was deleted from
+     * @param index the index the task had before deletion (starts from 0)
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalDelete(TaskList tasks, int index) throws IOException {
+        appendToJournal(tasks, JournalRecord.Operation.DELETE, String.valueOf(index));
+    }
+
+    /**
+     * Records the insertion of a task at an index in the journal.
+     *
+     * @param tasks the TaskList the task was inserted into
+     * @param index the index of the task (starts from 0)
+     * @param task  the task that was inserted
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalInsert(TaskList tasks, int index, AbstractTask task) throws IOException {
+        appendToJournal(tasks, JournalRecord.Operation.INSERT, index + " " + task.toMarkdownString());
+    }
+
+    /**
+     * Records the current status and tags of a task in the journal.
+     *
+     * @param tasks the TaskList containing the task
+     * @param index the index of the task (starts from 0)
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalRestore(TaskList tasks, int index) throws IOException {
+        appendToJournal(tasks, JournalRecord.Operation.RESTORE,
+                index + " " + tasks.getTask(index).toMarkdownString());
+    }
+
+    /**
+     * Records the changes an undo or redo made in the journal.
+     * A compaction is held back until every record is written, as it folds in the tasks as they are after
+     * the whole step, and a replay would otherwise apply the records after it to them a second time.
+     *
+     * @param tasks   the TaskList the changes were made to
+     * @param changes the changes, as returned by {@link TaskList#getReplayedChanges()}
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    @Override
+    public void journalReplay(TaskList tasks, List<TaskChange> changes) throws IOException {
+        isCompactionHeld = true;
+        try {
+            StorageBackend.super.journalReplay(tasks, changes);
+        } finally {
+            isCompactionHeld = false;
+        }
+        if (journalBytes > journalLimit) {
+            compact(tasks);
+        }
+    }
+
+    /**
+     * Appends a record to the journal, starting a compaction once the journal passes its size limit.
+     * Does nothing when journal mode is off.
+     */
+    private void appendToJournal(TaskList tasks, JournalRecord.Operation operation, String payload)
+            throws IOException {
+        if (!isJournaling) {
+            return;
+        }
+        JournalRecord record = new JournalRecord(++sequence, operation, payload);
+        String line = record.toLine() + "\n";
+        if (journalWriter != null) {
+            journalWriter.append(line);
+        } else {
+            appendToFile(journal, line);
+        }
+        journalBytes += line.getBytes(StandardCharsets.UTF_8).length;
+        if (journalBytes > journalLimit && !isCompactionHeld) {
+            compact(tasks);
+        }
+    }
+
+    /**
+     * Folds the journal into the storage file on the background compactor.
+     * The patches or the full snapshot are prepared on the calling thread, so the background thread never
+     * touches the live task list. A full snapshot comes with its binary copy, while patches delete the binary
+     * copy as any patch save does. Pending appends are flushed and the journal is moved aside first, letting
+     * new records go to a fresh journal while the file is written. Records already covered by the file carry
+     * a sequence number no greater than the one in its header, so a replay skips them even if a crash leaves
+     * them behind.
+     * The journal moved aside is deleted only once the file is written. If the write fails, the moved journal
+     * stays for the next load to replay, and the failure is reported by the next call that waits on it.
+     */
+    private void compact(TaskList tasks) throws IOException {
+        if (pendingCompaction != null && !pendingCompaction.isDone()) {
+            return;
+        }
+        awaitCompaction();
+        flushBeforeWrite();
+        List<FilePatch> patches = planPatches(tasks);
+        byte[] snapshot = patches == null ? renderFile(tasks.getTasks()) : null;
+        byte[] binarySnapshot = patches == null ? BinarySnapshot.encode(tasks.getTasks(), sequence) : null;
+        if (patches != null) {
+            invalidateBinarySnapshot();
+            rememberPatches(patches, tasks.getTasks());
+        } else {
+            isBinarySnapshotStale = false;
+            rememberContent(snapshot, tasks.getTasks());
+        }
+        tasks.clearChanges();
+        boolean isMoved = !compactingJournal.exists() && journal.renameTo(compactingJournal);
+        if (isMoved) {
+            journalBytes = 0;
+        }
+        pendingCompaction = compactor.submit(() -> {
+            if (patches != null) {
+                applyPatches(patches);
+            } else {
+                writeSnapshot(snapshot);
+                BinarySnapshot.write(binaryFile, binarySnapshot, file, snapshot);
+            }
+            Files.deleteIfExists(compactingJournal.toPath());
+            return null;
+        });
+    }
+
+    /**
+     * Atomically replaces the storage file with the given content.
+     */
+    private void writeSnapshot(byte[] content) throws IOException {
+        createIfDirectoryNotFound();
+        File temporary = new File(file.getPath() + ".tmp");
+        Files.write(temporary.toPath(), content);
+        Files.move(temporary.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Waits for a running background compaction to finish.
+     * If it failed, the journal is left in place, the failure is passed on to the caller,
+     * and the next save rewrites the whole file.
+     *
+     * @throws IOException if the compaction failed
+     */
+    private void awaitCompaction() throws IOException {
+        if (pendingCompaction == null) {
+            return;
+        }
+        Future<?> compaction = pendingCompaction;
+        pendingCompaction = null;
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fileEnd = -1;
+        } catch (ExecutionException e) {
+            fileEnd = -1;
+            throw new IOException("Unable to compact the journal into " + file.getPath() + ".", e.getCause());
+        }
+    }
+
+    /**
+     * Renders the full storage file content for the given tasks, recording where each task's line will sit.
+     * In journal mode the content starts with a header holding the sequence number of the last mutation.
+     */
+    private byte[] renderFile(List<AbstractTask> tasks) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (isJournaling) {
+            content.writeBytes(renderSequenceHeader());
+        }
+        for (AbstractTask task : tasks) {
+            byte[] line = task.toMarkdownString().getBytes(StandardCharsets.UTF_8);
+            task.setFileLocation(content.size(), line.length);
+            content.writeBytes(line);
+            content.write('\n');
+        }
+        fileEnd = content.size();
+        tombstoneBytes = 0;
+        hasSequenceHeader = isJournaling;
+        replayedRemovals.clear();
+        return content.toByteArray();
+    }
+
+    /**
+     * Renders the fixed-width header line holding the current sequence number.
+     */
+    private byte[] renderSequenceHeader() {
+        String header = SEQUENCE_PREFIX + String.format("%0" + SEQUENCE_WIDTH + "d", sequence) + SEQUENCE_SUFFIX;
+        return (header + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the sequence number out of a snapshot header line.
+     *
+     * @return the sequence number, or 0 if the header is malformed
+     */
+    private long parseSequenceHeader(String line) {
+        if (!line.endsWith(SEQUENCE_SUFFIX)) {
+            return 0;
+        }
+        try {
+            int end = line.length() - SEQUENCE_SUFFIX.length();
+            return Long.parseLong(line.substring(SEQUENCE_PREFIX.length(), end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Replays the records of a journal file over the given tasks.
+     * Records already covered by the snapshot are skipped, and a torn final line is ignored.
+     */
+    private void replayJournal(File journalFile, List<AbstractTask> tasks) throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        String content = Files.readString(journalFile.toPath(), StandardCharsets.UTF_8);
+        String[] lines = content.split("\n");
+        int complete = content.endsWith("\n") ? lines.length : lines.length - 1;
+        for (int i = 0; i < complete; i++) {
+            JournalRecord record = JournalRecord.parse(lines[i]);
+            if (record == null || record.getSequence() <= snapshotSequence) {
+                continue;
+            }
+            applyRecord(record, tasks);
+            sequence = Math.max(sequence, record.getSequence());
+        }
+    }
+
+    /**
+     * Applies a single journal record to the given tasks.
+     * Records that no longer fit the tasks, such as an index out of range, are skipped.
+     * An inserted task may sit between tasks that already have their lines, so the next save rewrites the file.
+     */
+    private void applyRecord(JournalRecord record, List<AbstractTask> tasks) {
+        AbstractTask removed = record.applyTo(tasks, lineDecoder);
+        if (removed != null && removed.getFileOffset() >= 0) {
+            replayedRemovals.add(removed);
+        }
+        if (record.getOperation() == JournalRecord.Operation.INSERT) {
+            fileEnd = -1;
         }
-        fileWriter.close();
     }
 
     /**
@@ -98,8 +1029,19 @@ public class Storage {
      * @throws IOException if an I/O error occurs while writing to the file
      */
     public void appendToFile(String content) throws IOException {
+        appendToFile(file, content);
+    }
+
+    /**
+     * Appends the given content to the target file.
+     *
+     * @param target  the file to append to
+     * @param content the content to append
+     * @throws IOException if an I/O error occurs while writing to the file
+     */
+    private void appendToFile(File target, String content) throws IOException {
         createIfDirectoryNotFound();
-        FileWriter fileWriter = new FileWriter(file, true);
+        FileWriter fileWriter = new FileWriter(target, StandardCharsets.UTF_8, true);
         fileWriter.write(content);
         fileWriter.close();
     }
@@ -111,63 +1053,10 @@ public class Storage {
      * @return an AbstractTask corresponding to the line, or null if parsing fails
      */
     AbstractTask parseLine(String line) {
-        // Basic length check to avoid StringIndexOutOfBounds; minimum valid format is 9 characters.
-        if (line == null || line.length() < 7) {
-            return null;
-        }
-        // The line must start with "- ["
-        if (!line.startsWith("- [")) {
+        if (line == null) {
             return null;
         }
-        // Check the check mark at index 3; must be 'X' or a space.
-        char checkMark = line.charAt(3);
-        if (checkMark != 'X' && checkMark != ' ') {
-            return null;
-        }
-        // Verify the closing bracket and following space.
-        if (line.charAt(4) != ']' || line.charAt(5) != ' ') {
-            return null;
-        }
-        // The next character should be a single-letter code representing the task type.
-        char letter = line.charAt(6);
-        if (!Character.isLetter(letter)) {
-            return null;
-        }
-        // Check for a colon and a space after the letter.
-        if (line.charAt(7) != ':' || line.charAt(8) != ' ') {
-            return null;
-        }
-
-        String separator = " #tags ";
-        int lastIndex = line.lastIndexOf(separator);
-        String content;
-        String[] tags = {};
-        if (lastIndex != -1) {
-            content = line.substring(8, lastIndex).trim();
-            tags = line.substring(lastIndex + separator.length()).split(" ");
-        } else {
-            content = line.substring(8).trim();
-        }
-
-        // The remainder of the line is the task content.
-        boolean isDone = (checkMark == 'X');
-        AbstractTask task;
-        task = switch (letter) {
-        case 'T' -> TodoTask.parseString(content);
-        case 'D' -> DeadlineTask.parseString(content);
-        case 'E' -> EventTask.parseString(content);
-        default -> null;
-        };
-        if (task == null) {
-            return null;
-        }
-        if (isDone) {
-            task.markAsDone();
-        }
-        if (tags.length > 0) {
-            task.addTags(tags);
-        }
-        return task;
+        return lineDecoder.decode(line, 0, line.length());
     }
 
     /**
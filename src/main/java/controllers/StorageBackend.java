@@ -0,0 +1,194 @@
+package controllers;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import datastructures.TaskChange;
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A place where the tasks are persisted between sessions.
+ * Commands report every mutation as it happens through the journal methods, and save the tracked changes
+ * of the TaskList when the session ends. Each implementation decides how much of that reaches the disk,
+ * and when.
+ */
+public interface StorageBackend {
+    int DEFAULT_ARCHIVE_AGE_DAYS = 30;
+
+    /**
+     * Loads the tasks saved by earlier sessions.
+     *
+     * @return a list of AbstractTask objects
+     * @throws IOException if an I/O error occurs while reading the tasks
+     */
+    List<AbstractTask> loadFile() throws IOException;
+
+    /**
+     * Saves the changes tracked by the given TaskList, and clears them.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the tasks
+     */
+    void saveChanges(TaskList tasks) throws IOException;
+
+    /**
+     * Saves every task of the given TaskList, for callers that did not report the mutations through the
+     * journal methods, and clears its tracked changes. Backends that save from the tracked changes alone
+     * need nothing more than saveChanges.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the tasks
+     */
+    default void saveAll(TaskList tasks) throws IOException {
+        saveChanges(tasks);
+    }
+
+    /**
+     * Saves the changes tracked by the given TaskList as the session ends, together with anything that lets
+     * the next session load the tasks faster. Backends without such a copy need nothing more than saveChanges.
+     *
+     * @param tasks the TaskList to save
+     * @throws IOException if an I/O error occurs while writing the tasks
+     */
+    default void saveStartupSnapshot(TaskList tasks) throws IOException {
+        saveChanges(tasks);
+    }
+
+    /**
+     * Blocks until every mutation recorded so far is durable.
+     *
+     * @throws IOException if an earlier write failed
+     */
+    void flush() throws IOException;
+
+    /**
+     * Records the addition of a task.
+     *
+     * @param tasks the TaskList the task was added to
+     * @param task  the task that was added
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalAdd(TaskList tasks, AbstractTask task) throws IOException;
+
+    /**
+     * Records a change of completion status.
+     *
+     * @param tasks  the TaskList containing the task
+     * @param index  the index of the task (starts from 0)
+     * @param isDone whether the task was marked as done or as not done
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalMark(TaskList tasks, int index, boolean isDone) throws IOException;
+
+    /**
+     * Records the tagging of a task.
+     *
+     * @param tasks the TaskList containing the task
+     * @param index the index of the task (starts from 0)
+     * @param tags  the tags that were added
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalTag(TaskList tasks, int index, String... tags) throws IOException;
+
+    /**
+     * Records the deletion of a task.
+     *
+     * @param tasks the TaskList the task was deleted from
+     * @param index the index the task had before deletion (starts from 0)
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalDelete(TaskList tasks, int index) throws IOException;
+
+    /**
+     * Records the insertion of a task at an index, as when undo puts back a deleted task.
+     *
+     * @param tasks the TaskList the task was inserted into
+     * @param index the index of the task (starts from 0)
+     * @param task  the task that was inserted
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalInsert(TaskList tasks, int index, AbstractTask task) throws IOException;
+
+    /**
+     * Records that the status and tags of a task were set back, as when undo reverts a mark or a tag.
+     *
+     * @param tasks the TaskList containing the task
+     * @param index the index of the task (starts from 0)
+     * @throws IOException if an I/O error occurs while recording the mutation
+     */
+    void journalRestore(TaskList tasks, int index) throws IOException;
+
+    /**
+     * Records the changes an undo or redo made, through the journal methods, so that its cost grows with the
+     * size of the step rather than with the number of tasks. Tasks put back or taken out are recorded in the
+     * order they moved, each put back with its current line; tasks whose status or tags moved are recorded
+     * afterwards, at the index they end up at.
+     *
+     * @param tasks   the TaskList the changes were made to
+     * @param changes the changes, as returned by {@link TaskList#getReplayedChanges()}
+     * @throws IOException if an I/O error occurs while recording the mutations
+     */
+    default void journalReplay(TaskList tasks, List<TaskChange> changes) throws IOException {
+        Set<AbstractTask> updatedTasks = new LinkedHashSet<>();
+        for (TaskChange change : changes) {
+            switch (change.getKind()) {
+            case ADD -> journalInsert(tasks, change.getIndex(), change.getTask());
+            case REMOVE -> journalDelete(tasks, change.getIndex());
+            default -> updatedTasks.add(change.getTask());
+            }
+        }
+        for (AbstractTask task : updatedTasks) {
+            int index = tasks.indexOf(task);
+            if (index >= 0) {
+                journalRestore(tasks, index);
+            }
+        }
+    }
+
+    /**
+     * Moves the completed tasks that went cold before the cutoff out of the task list into the archive.
+     *
+     * @param tasks          the TaskList to archive from
+     * @param cutoff         the date before which completed tasks are archived
+     * @param isTodoIncluded whether every done todo is archived too, as todos have no date to age by
+     * @return the archived tasks, in list order
+     * @throws IOException if an I/O error occurs while writing the archive
+     */
+    List<AbstractTask> archiveCompleted(TaskList tasks, LocalDate cutoff, boolean isTodoIncluded) throws IOException;
+
+    /**
+     * Finds archived tasks that contain the specified keyword in their descriptions.
+     *
+     * @param keyword the keyword to search for in the task descriptions
+     * @return the matching archived tasks
+     * @throws IOException if an I/O error occurs while reading the archive
+     */
+    List<AbstractTask> findArchived(String keyword) throws IOException;
+
+    /**
+     * Starts watching for changes made to the saved tasks by other programs.
+     * Backends without a file meant to be edited by hand ignore this.
+     *
+     * @param tasks the TaskList loaded from this backend
+     * @throws IOException if the tasks cannot be watched
+     */
+    default void watch(TaskList tasks) throws IOException {
+    }
+
+    /**
+     * Applies the changes made to the saved tasks by other programs since the last call to the given TaskList.
+     * If the TaskList changes, its undo history is cleared, so undo never reverts those changes.
+     * Backends without a file meant to be edited by hand never report changes.
+     *
+     * @param tasks the TaskList to bring up to date
+     * @return true if the TaskList changed, false otherwise
+     * @throws IOException if an I/O error occurs while reading the changes
+     */
+    default boolean reloadExternalChanges(TaskList tasks) throws IOException {
+        return false;
+    }
+}
@@ -1,23 +1,32 @@
 package controllers;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 
 import datastructures.TaskList;
+import datastructures.TaskStatistics;
 import helpers.StandardDateTime;
 import tasks.AbstractTask;
+import tasks.EventTask;
 
 /**
  * Handles user interaction by printing messages, reading user input,
  * and formatting dates for display.
  */
 public class Ui {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int STREAM_CHUNK_SIZE = 256;
+
     // CHECKSTYLE:ON: AbbreviationAsWordInName
     private final FastScanner scanner;
     // CHECKSTYLE:ON: AbbreviationAsWordInName
     private final Queue<String> queue = new LinkedList<>();
+    private Writer writer;
 
     /**
      * Constructs a new Ui object using standard input and output.
@@ -26,6 +35,15 @@ public class Ui {
         this.scanner = new FastScanner();
     }
 
+    /**
+     * Attaches the writer that long listings are streamed to, instead of being queued as one message.
+     *
+     * @param writer the writer the queued messages are also printed to
+     */
+    public void setWriter(Writer writer) {
+        this.writer = writer;
+    }
+
     /**
      * Check queue size
      * @return size of queue
@@ -43,6 +61,16 @@ public class Ui {
         return queue.poll();
     }
 
+    /**
+     * Drop every queued message
+     * @return number of messages dropped
+     */
+    public int discardOutput() {
+        int count = queue.size();
+        queue.clear();
+        return count;
+    }
+
     /**
      * Add multiple messages to queue
      * @param messages vararg format
@@ -88,8 +116,8 @@ public class Ui {
         String content = """
                 I do not understand what thou art saying.
                 Please enter a valid command using the follow:
-                1. list
-                2. find <keyword>
+                1. list [page] [page size] - %d tasks a page by default, or list --all
+                2. find <keyword>, find /w <...words>, find ~<word>[/edits] or find #tag #tag|#other -#tag
                 3. mark <task number>
                 4. unmark <task number>
                 5. tag <task number> <...tag>
@@ -97,8 +125,14 @@ public class Ui {
                 7. deadline <task description> /by <deadline>
                 8. event <task description> /from <start time> /to <end time>
                 9. upcoming <task type> <days>
-                10. delete <task number>
-                11. bye - To exit the programme""";
+                10. busy <from date> /to <to date>
+                11. delete <task number>
+                12. archive [days] - To archive completed tasks
+                13. archive find <keyword>
+                14. undo or redo
+                15. query <conditions> [sort:date|description] [limit:n]
+                16. stats
+                17. bye - To exit the programme""".formatted(DEFAULT_PAGE_SIZE);
         queue.add(content);
     }
 
@@ -154,6 +188,62 @@ public class Ui {
         addQueue("Pity! I've unmarked this task as done:\n" + task.toString());
     }
 
+    /**
+     * Show a message indicating which completed tasks have been moved to the archive.
+     *
+     * @param tasks the tasks that were archived
+     * @param size  the number of tasks remaining in the list
+     */
+    public void showTasksArchived(List<AbstractTask> tasks, int size) {
+        if (tasks.isEmpty()) {
+            addQueue("There are no completed tasks old enough to archive.");
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        content.append("I've archived ").append(tasks.size()).append(" completed tasks:\n");
+        for (int i = 0; i < tasks.size(); i++) {
+            content.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+        }
+        content.append("Now thou have ").append(size).append(" tasks in the list.");
+        addQueue(content.toString());
+    }
+
+    /**
+     * Show a warning listing the existing events that overlap a newly added one.
+     *
+     * @param events the overlapping events
+     */
+    public void showEventConflicts(List<EventTask> events) {
+        StringBuilder content = new StringBuilder();
+        content.append("Beware! This event overlaps ").append(events.size()).append(" other events:\n");
+        for (int i = 0; i < events.size(); i++) {
+            content.append(i + 1).append(". ").append(events.get(i)).append("\n");
+        }
+        addQueue(content.toString());
+    }
+
+    /**
+     * Show the events that overlap a window of days.
+     *
+     * @param events the overlapping events
+     * @param from   the first day of the window
+     * @param to     the last day of the window
+     */
+    public void showBusy(List<EventTask> events, LocalDate from, LocalDate to) {
+        String window = StandardDateTime.dateToString(from) + " to " + StandardDateTime.dateToString(to);
+        if (events.isEmpty()) {
+            addQueue("Thou art free from " + window + ".");
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        content.append("Thou art busy with ").append(events.size()).append(" events from ").append(window)
+                .append(":\n");
+        for (int i = 0; i < events.size(); i++) {
+            content.append(i + 1).append(". ").append(events.get(i)).append("\n");
+        }
+        addQueue(content.toString());
+    }
+
     /**
      * Reads a command from the user input.
      *
@@ -179,6 +269,8 @@ public class Ui {
 
     /**
      * Displays all tasks in the provided TaskList.
+     * With a writer attached, the tasks are written to it in chunks through a cursor, flushing each chunk,
+     * so the listing never sits in memory as a whole. Otherwise it is queued as a single message.
      *
      * @param tasks the TaskList containing the tasks to display
      */
@@ -188,8 +280,93 @@ public class Ui {
             queue.add(content);
             return;
         }
+        if (writer == null) {
+            addQueue("Here are the tasks in thine list:\n" + tasks.toString());
+            return;
+        }
+        try {
+            StringBuilder chunk = new StringBuilder("Here are the tasks in thine list:\n");
+            Iterator<AbstractTask> cursor = tasks.cursor(0);
+            for (int number = 1; cursor.hasNext(); number++) {
+                chunk.append(number).append(". ").append(cursor.next()).append("\n");
+                if (number % STREAM_CHUNK_SIZE == 0) {
+                    writer.write(chunk.toString());
+                    writer.flush();
+                    chunk.setLength(0);
+                }
+            }
+            writer.write(chunk.toString());
+            writer.flush();
+        } catch (IOException e) {
+            addQueue("Unable to print the rest of thine list.");
+        }
+    }
+
+    /**
+     * Displays one page of the tasks in the provided TaskList, numbered by their place in the whole list.
+     *
+     * @param tasks    the TaskList containing the tasks to display
+     * @param page     the page to display, counting from 1
+     * @param pageSize the number of tasks on each page
+     */
+    public void showTaskPage(TaskList tasks, int page, int pageSize) {
+        addQueue(renderTaskPage(tasks, page, pageSize));
+    }
 
-        addQueue("Here are the tasks in thine list:\n" + tasks.toString());
+    /**
+     * Show the first page of the tasks after an undo or a redo.
+     *
+     * @param action the action taken, "undo" or "redo"
+     * @param tasks  the TaskList after the action
+     */
+    public void showVersionRestored(String action, TaskList tasks) {
+        String content = action.equals("undo") ? "Undone! " : "Redone! ";
+        addQueue(content + renderTaskPage(tasks, 1, DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * Renders one page of the tasks. Only the tasks on the page are visited, through a cursor starting
+     * at the first of them, so the cost depends on the page size rather than on the length of the list.
+     */
+    private static String renderTaskPage(TaskList tasks, int page, int pageSize) {
+        int size = tasks.getSize();
+        if (size == 0) {
+            return "There are no tasks in thine list.";
+        }
+        // A page never needs to hold more than the whole list, and the page count below cannot overflow.
+        pageSize = Math.min(pageSize, size);
+        int pageCount = (size + pageSize - 1) / pageSize;
+        if (page > pageCount) {
+            return "There is no page " + page + "; thine list has " + pageCount + " pages.";
+        }
+        StringBuilder content = new StringBuilder("Here are the tasks in thine list:\n");
+        int first = (page - 1) * pageSize;
+        Iterator<AbstractTask> cursor = tasks.cursor(first);
+        for (int number = first + 1; number <= first + pageSize && cursor.hasNext(); number++) {
+            content.append(number).append(". ").append(cursor.next()).append("\n");
+        }
+        if (pageCount > 1) {
+            content.append("Page ").append(page).append(" of ").append(pageCount).append(".");
+        }
+        return content.toString();
+    }
+
+    /**
+     * Show the statistics of the task list.
+     * @param statistics the counts to show
+     */
+    public void showStatistics(TaskStatistics statistics) {
+        StringBuilder content = new StringBuilder();
+        content.append("Thou have ").append(statistics.getTaskCount()).append(" tasks:\n");
+        content.append("Todo: ").append(statistics.getCount("todo"))
+                .append(", deadline: ").append(statistics.getCount("deadline"))
+                .append(", event: ").append(statistics.getCount("event")).append("\n");
+        content.append("Done: ").append(statistics.getDoneCount())
+                .append(", pending: ").append(statistics.getPendingCount()).append("\n");
+        content.append("Overdue deadlines: ").append(statistics.getOverdueCount());
+        statistics.getCountsByTag().forEach((tag, count) ->
+                content.append("\n#").append(tag).append(": ").append(count));
+        addQueue(content.toString());
     }
 
     /**
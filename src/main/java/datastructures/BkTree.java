@@ -0,0 +1,180 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Burkhard-Keller tree over a vocabulary of words, for finding the words within an edit distance
+ * of a query. Every child of a node sits at a known Levenshtein distance from it, and by the triangle
+ * inequality only the children whose distance lies within the limit of the query's own distance to the
+ * node can hold a match, so most of the tree is never visited.
+ * A removed word only marks its node, as the words below it were placed by their distance to it; the tree
+ * is rebuilt from the words left once the marked nodes outnumber them.
+ */
+class BkTree {
+    private Node root;
+    private int wordCount;
+    private int removedCount;
+
+    /**
+     * Adds a word to the vocabulary, if it is not already there.
+     *
+     * @param word the word to add
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            wordCount++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (node.isRemoved) {
+                    node.isRemoved = false;
+                    removedCount--;
+                    wordCount++;
+                }
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                wordCount++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes a word from the vocabulary, if it is there.
+     *
+     * @param word the word to remove
+     */
+    void remove(String word) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (!node.isRemoved) {
+                    node.isRemoved = true;
+                    removedCount++;
+                    wordCount--;
+                }
+                break;
+            }
+            node = node.children.get(distance);
+        }
+        if (removedCount > wordCount) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the number of words in the vocabulary.
+     *
+     * @return the number of words
+     */
+    int size() {
+        return wordCount;
+    }
+
+    /**
+     * Builds the tree again from the words that have not been removed, dropping the marked nodes.
+     */
+    private void rebuild() {
+        List<String> words = new ArrayList<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (!node.isRemoved) {
+                words.add(node.word);
+            }
+            pending.addAll(node.children.values());
+        }
+        root = null;
+        wordCount = 0;
+        removedCount = 0;
+        for (String word : words) {
+            add(word);
+        }
+    }
+
+    /**
+     * Returns the words within the given edit distance of the query, grouped by distance.
+     *
+     * @param query       the word to look up
+     * @param maxDistance the largest edit distance to accept
+     * @return a list whose element at each distance holds the words at exactly that distance
+     */
+    List<List<String>> find(String query, int maxDistance) {
+        List<List<String>> found = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            found.add(new ArrayList<>());
+        }
+        if (root == null) {
+            return found;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.word);
+            if (distance <= maxDistance && !node.isRemoved) {
+                found.get(distance).add(node.word);
+            }
+            for (int i = Math.max(1, distance - maxDistance); i <= distance + maxDistance; i++) {
+                Node child = node.children.get(i);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words, keeping only two rows of the table.
+     */
+    static int distance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * A word in the tree, with its children keyed by their distance to it.
+     * A removed word keeps its node, marked, so the words below it can still be reached.
+     */
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+        private boolean isRemoved;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
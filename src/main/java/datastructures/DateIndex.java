@@ -0,0 +1,87 @@
+package datastructures;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A sorted index from epoch days to the slots of the tasks falling on them.
+ * A range of days is found by a lookup in the tree, so a query costs the logarithm of the number of
+ * distinct days plus the number of matches, however many tasks lie outside the range.
+ */
+class DateIndex {
+    private final NavigableMap<Long, RoaringBitmap> slotsByDay = new TreeMap<>();
+
+    /**
+     * Records that the task in the slot falls on the date.
+     *
+     * @param slot the slot of the task
+     * @param date the date of the task
+     */
+    void add(int slot, LocalDate date) {
+        slotsByDay.computeIfAbsent(date.toEpochDay(), key -> new RoaringBitmap()).add(slot);
+    }
+
+    /**
+     * Removes the slot from the date.
+     *
+     * @param slot the slot of the task
+     * @param date the date of the task
+     */
+    void remove(int slot, LocalDate date) {
+        RoaringBitmap slots = slotsByDay.get(date.toEpochDay());
+        if (slots == null) {
+            return;
+        }
+        slots.remove(slot);
+        if (slots.isEmpty()) {
+            slotsByDay.remove(date.toEpochDay());
+        }
+    }
+
+    /**
+     * Returns the slots of the tasks falling strictly between the two dates.
+     *
+     * @param after  the date the tasks must fall after
+     * @param before the date the tasks must fall before
+     * @return the slots in ascending order, which is the list order of their tasks
+     */
+    int[] findBetween(LocalDate after, LocalDate before) {
+        if (!after.isBefore(before)) {
+            return new int[0];
+        }
+        Collection<RoaringBitmap> days = slotsByDay.subMap(after.toEpochDay(), false, before.toEpochDay(), false)
+                .values();
+        int count = 0;
+        for (RoaringBitmap slots : days) {
+            count += slots.cardinality();
+        }
+        int[] found = new int[count];
+        int[] next = {0};
+        for (RoaringBitmap slots : days) {
+            slots.forEach(slot -> found[next[0]++] = slot);
+        }
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Counts the tasks falling strictly between the two dates, without listing them.
+     *
+     * @param after  the date the tasks must fall after
+     * @param before the date the tasks must fall before
+     * @return the number of tasks in the range
+     */
+    int countBetween(LocalDate after, LocalDate before) {
+        if (!after.isBefore(before)) {
+            return 0;
+        }
+        int count = 0;
+        for (RoaringBitmap slots : slotsByDay.subMap(after.toEpochDay(), false, before.toEpochDay(), false).values()) {
+            count += slots.cardinality();
+        }
+        return count;
+    }
+}
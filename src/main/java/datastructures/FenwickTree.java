@@ -0,0 +1,74 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A Fenwick tree of counts, one for each position, used to number the live slots of a TaskList.
+ * Each position holds 1 while its slot holds a task and 0 once the task is deleted, so the number of
+ * tasks before a slot and the slot holding the task at a given index are both found in logarithmic time,
+ * without shifting any array when a task is deleted.
+ */
+class FenwickTree {
+    private int[] tree = new int[65];
+    private int size;
+
+    /**
+     * Appends a position holding the given count.
+     *
+     * @param count the count of the new position
+     */
+    void append(int count) {
+        size++;
+        if (size == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        // The new node covers the positions after size - lowest bit, of which all but itself already exist.
+        tree[size] = count + prefixSum(size - 1) - prefixSum(size - (size & -size));
+    }
+
+    /**
+     * Adds to the count at a position.
+     *
+     * @param position the position, counting from 0
+     * @param delta    the amount to add
+     */
+    void add(int position, int delta) {
+        for (int i = position + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the counts before a position.
+     *
+     * @param position the position, counting from 0
+     * @return the sum of the counts at positions 0 to position - 1
+     */
+    int prefixSum(int position) {
+        int sum = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the position at which the prefix sum first exceeds the rank, which for counts of 0 and 1
+     * is the position of the one with the given rank.
+     *
+     * @param rank the rank, counting from 0
+     * @return the position, counting from 0
+     */
+    int select(int rank) {
+        int position = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
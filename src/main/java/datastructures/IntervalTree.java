@@ -0,0 +1,165 @@
+package datastructures;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An augmented search tree over date ranges, each belonging to the task in a slot.
+ * Nodes are ordered by start date, and every node also keeps the latest end date found in its subtree,
+ * so a search for the ranges overlapping a window skips every subtree that ends before the window.
+ * The tree is kept balanced as a treap, with priorities derived from the slots, so a search costs
+ * about the logarithm of the number of ranges plus the number of overlaps found.
+ */
+class IntervalTree {
+    private Node root;
+
+    /**
+     * Adds the range of the task in the slot. Both ends are inclusive.
+     *
+     * @param slot the slot of the task
+     * @param from the first day of the range
+     * @param to   the last day of the range
+     */
+    void add(int slot, LocalDate from, LocalDate to) {
+        root = insert(root, new Node(slot, from.toEpochDay(), to.toEpochDay()));
+    }
+
+    /**
+     * Removes the range of the task in the slot.
+     *
+     * @param slot the slot of the task
+     * @param from the first day of the range, as it was added
+     */
+    void remove(int slot, LocalDate from) {
+        root = delete(root, from.toEpochDay(), slot);
+    }
+
+    /**
+     * Returns the slots of the tasks whose ranges share at least one day with the window.
+     *
+     * @param from the first day of the window
+     * @param to   the last day of the window
+     * @return the slots, ordered by the start of their ranges and then by slot
+     */
+    List<Integer> findOverlapping(LocalDate from, LocalDate to) {
+        List<Integer> found = new ArrayList<>();
+        collect(root, from.toEpochDay(), to.toEpochDay(), found);
+        return found;
+    }
+
+    private static void collect(Node node, long from, long to, List<Integer> found) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, found);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            found.add(node.slot);
+        }
+        collect(node.right, from, to, found);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node.update();
+    }
+
+    private static Node delete(Node node, long start, int slot) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = node.start != start ? Long.compare(start, node.start) : Integer.compare(slot, node.slot);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, slot);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, slot);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return node.update();
+    }
+
+    /**
+     * Joins two treaps, every node of the first ordered before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return first.update();
+        }
+        second.left = merge(first, second.left);
+        return second.update();
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node.update();
+        return right;
+    }
+
+    /**
+     * A range in the tree, with the latest end date of its subtree.
+     */
+    private static class Node implements Comparable<Node> {
+        private final int slot;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(int slot, long start, long end) {
+            this.slot = slot;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            // Slots are handed out in order, so they are scrambled to act as random priorities.
+            int mixed = slot * 0x9E3779B9;
+            this.priority = mixed ^ (mixed >>> 16);
+        }
+
+        Node update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+            return this;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return start != other.start ? Long.compare(start, other.start) : Integer.compare(slot, other.slot);
+        }
+    }
+}
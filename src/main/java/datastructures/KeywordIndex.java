@@ -0,0 +1,116 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the words of task descriptions to the slots of the tasks containing them.
+ * Words are runs of letters and digits, compared case-insensitively, so "Book," and "book" are the same word.
+ */
+class KeywordIndex {
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+
+    /**
+     * Adds every word of a description to the index.
+     *
+     * @param slot        the slot of the task
+     * @param description the description of the task
+     * @return the words that no other task contained before
+     */
+    List<String> add(int slot, String description) {
+        List<String> newWords = new ArrayList<>();
+        for (String word : tokenize(description)) {
+            RoaringBitmap slots = postings.get(word);
+            if (slots == null) {
+                slots = new RoaringBitmap();
+                postings.put(word, slots);
+                newWords.add(word);
+            }
+            slots.add(slot);
+        }
+        return newWords;
+    }
+
+    /**
+     * Removes the slot from the posting list of every word of a description.
+     * A word whose posting list becomes empty is dropped from the index.
+     *
+     * @param slot        the slot of the task
+     * @param description the description of the task
+     * @return the words that no task contains any more
+     */
+    List<String> remove(int slot, String description) {
+        List<String> droppedWords = new ArrayList<>();
+        for (String word : tokenize(description)) {
+            RoaringBitmap slots = postings.get(word);
+            if (slots == null) {
+                continue;
+            }
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                postings.remove(word);
+                droppedWords.add(word);
+            }
+        }
+        return droppedWords;
+    }
+
+    /**
+     * Returns the slots of the tasks whose descriptions contain every one of the given words.
+     * The posting lists are intersected starting from the shortest, so the cost depends on the
+     * rarest word rather than on the number of tasks.
+     *
+     * @param words the words to look up, already tokenized
+     * @return the matching slots, which must not be modified
+     */
+    RoaringBitmap find(List<String> words) {
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (String word : words) {
+            RoaringBitmap slots = postings.get(word);
+            if (slots == null) {
+                return new RoaringBitmap();
+            }
+            lists.add(slots);
+        }
+        if (lists.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        lists.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+        RoaringBitmap matches = lists.get(0);
+        for (int i = 1; i < lists.size(); i++) {
+            matches = RoaringBitmap.and(matches, lists.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Splits the text into distinct lower-case words made up of letters and digits.
+     *
+     * @param text the text to split
+     * @return the words, in order of first appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start == -1) {
+                start = i;
+            } else if (!isWordChar && start != -1) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (seen.add(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,64 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Filters a list on the threads of a fork-join pool once the list is long enough to repay the split.
+ * The list is cut into ranges by its spliterator, each range is filtered on its own thread, and the
+ * matches are joined back in list order, so numbering the results is unaffected. Shorter lists are
+ * filtered on the calling thread, since waking the pool costs more than the scan itself.
+ */
+class ParallelScan {
+    /**
+     * The length from which lists are filtered in parallel unless configured otherwise.
+     * ScanBenchmark measures where the parallel scan overtakes the sequential one on a given machine.
+     */
+    static final int DEFAULT_THRESHOLD = 10_000;
+
+    private final ForkJoinPool pool;
+    private volatile int threshold;
+
+    /**
+     * Constructs a ParallelScan.
+     *
+     * @param pool      the pool to filter long lists on
+     * @param threshold the length from which lists are filtered in parallel
+     */
+    ParallelScan(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the elements of the list that match the predicate, in list order.
+     * The list must not change during the scan, and the predicate must be safe to call from several threads.
+     *
+     * @param list      the list to filter
+     * @param predicate the test each returned element passes
+     * @param <T>       the type of the elements
+     * @return the matching elements
+     */
+    <T> List<T> filter(List<T> list, Predicate<? super T> predicate) {
+        if (list.size() < threshold) {
+            List<T> matches = new ArrayList<>();
+            for (T element : list) {
+                if (predicate.test(element)) {
+                    matches.add(element);
+                }
+            }
+            return matches;
+        }
+        return pool.submit(() -> StreamSupport.stream(list.spliterator(), true)
+                .filter(predicate)
+                .collect(Collectors.toCollection(ArrayList::new))).join();
+    }
+
+    void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+}
@@ -0,0 +1,291 @@
+package datastructures;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * An immutable list whose updates return a new list sharing all but a logarithmic number of nodes
+ * with the old one. The elements sit in a treap ordered by position, each node knowing the size of
+ * its subtree, so a lookup or an update by index walks a single path and copies only that path.
+ * Every old version stays valid and costs nothing to keep beyond the nodes no newer version shares.
+ *
+ * @param <T> the type of the elements
+ */
+class PersistentList<T> extends AbstractList<T> {
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<T> root;
+
+    private PersistentList(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <T> the type of the elements
+     * @return the empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        Node<T> node = root;
+        int remaining = index;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node.value;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns a list with the element at the index replaced.
+     *
+     * @param index the index of the element to replace
+     * @param value the new element
+     * @return the new list
+     */
+    PersistentList<T> with(int index, T value) {
+        checkIndex(index, size());
+        return new PersistentList<>(replace(root, index, value));
+    }
+
+    /**
+     * Returns a list with the element inserted at the index.
+     *
+     * @param index the index to insert the element at, up to the size of the list
+     * @param value the element to insert
+     * @return the new list
+     */
+    PersistentList<T> plus(int index, T value) {
+        checkIndex(index, size() + 1);
+        Node<T> leaf = new Node<>(value, ThreadLocalRandom.current().nextInt(), null, null);
+        Node<T>[] halves = split(root, index);
+        return new PersistentList<>(merge(merge(halves[0], leaf), halves[1]));
+    }
+
+    /**
+     * Returns a list without the element at the index.
+     *
+     * @param index the index of the element to remove
+     * @return the new list
+     */
+    PersistentList<T> minus(int index) {
+        checkIndex(index, size());
+        Node<T>[] halves = split(root, index);
+        Node<T>[] rest = split(halves[1], 1);
+        return new PersistentList<>(merge(halves[0], rest[1]));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an iterator starting at the given index. It walks the tree in order, holding the path to
+     * the next node, so reaching the start costs a single descent and every later step is cheap.
+     *
+     * @param fromIndex the index of the first element to return, up to the size of the list
+     * @return the iterator
+     */
+    Iterator<T> iterator(int fromIndex) {
+        checkIndex(fromIndex, size() + 1);
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        int remaining = fromIndex;
+        while (node != null) {
+            int leftSize = sizeOf(node.left);
+            if (remaining <= leftSize) {
+                path.push(node);
+                if (remaining == leftSize) {
+                    break;
+                }
+                node = node.left;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> next = path.pop();
+                for (Node<T> current = next.right; current != null; current = current.left) {
+                    path.push(current);
+                }
+                return next.value;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator over the list that splits its range of indexes in half, so a parallel stream
+     * hands each thread a contiguous run of elements and keeps them in order when joining the results.
+     * Each run is walked with an iterator from its first index, so a split never copies the elements.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RangeSpliterator(0, size());
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> Node<T> replace(Node<T> node, int index, T value) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.value, node.priority, replace(node.left, index, value), node.right);
+        }
+        if (index > leftSize) {
+            return new Node<>(node.value, node.priority, node.left, replace(node.right, index - leftSize - 1, value));
+        }
+        return new Node<>(value, node.priority, node.left, node.right);
+    }
+
+    /**
+     * Splits the tree into the first count elements and the rest, copying only the nodes along the cut.
+     */
+    private static <T> Node<T>[] split(Node<T> node, int count) {
+        if (node == null) {
+            return pair(null, null);
+        }
+        int leftSize = sizeOf(node.left);
+        if (count <= leftSize) {
+            Node<T>[] halves = split(node.left, count);
+            return pair(halves[0], new Node<>(node.value, node.priority, halves[1], node.right));
+        }
+        Node<T>[] halves = split(node.right, count - leftSize - 1);
+        return pair(new Node<>(node.value, node.priority, node.left, halves[0]), halves[1]);
+    }
+
+    /**
+     * Returns the two trees as an array, the only place a generic array of nodes is created.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] pair(Node<T> first, Node<T> second) {
+        Node<T>[] pair = (Node<T>[]) new Node<?>[2];
+        pair[0] = first;
+        pair[1] = second;
+        return pair;
+    }
+
+    /**
+     * Joins two trees, every element of the first coming before every element of the second.
+     */
+    private static <T> Node<T> merge(Node<T> first, Node<T> second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        if (first.priority > second.priority) {
+            return new Node<>(first.value, first.priority, first.left, merge(first.right, second));
+        }
+        return new Node<>(second.value, second.priority, merge(first, second.left), second.right);
+    }
+
+    /**
+     * A spliterator over a range of indexes of the list.
+     */
+    private class RangeSpliterator implements Spliterator<T> {
+        private final int end;
+        private int next;
+        private Iterator<T> cursor;
+
+        RangeSpliterator(int start, int end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (next >= end) {
+                return false;
+            }
+            if (cursor == null) {
+                cursor = iterator(next);
+            }
+            next++;
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (cursor != null || end - next < 2) {
+                return null;
+            }
+            int middle = (next + end) >>> 1;
+            Spliterator<T> prefix = new RangeSpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+
+    /**
+     * An immutable node of the treap.
+     */
+    private static class Node<T> {
+        private final T value;
+        private final int priority;
+        private final int size;
+        private final Node<T> left;
+        private final Node<T> right;
+
+        Node(T value, int priority, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative ints in the style of a roaring bitmap.
+ * Values are grouped by their upper 16 bits into containers. A container holding few values stores them
+ * as a sorted array, and switches to a plain 65536-bit bitmap once it holds more than 4096 of them, so
+ * a sparse set costs two bytes per value while a dense one costs one bit per possible value.
+ * Intersections and differences walk the smaller side of each container pair.
+ */
+class RoaringBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Adds the value to the set.
+     *
+     * @param value the value to add, not negative
+     */
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    /**
+     * Removes the value from the set, if present.
+     *
+     * @param value the value to remove
+     */
+    void remove(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        containers[index] = containers[index].remove((char) value);
+        if (containers[index].cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            size--;
+            containers[size] = null;
+        }
+    }
+
+    /**
+     * Returns whether the value is in the set.
+     *
+     * @param value the value to look up
+     * @return true if the value is in the set, false otherwise
+     */
+    boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the number of values
+     */
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every value in the set to the action, in ascending order.
+     *
+     * @param action the action to perform on each value
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Returns the values present in both sets.
+     */
+    static RoaringBitmap and(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            if (first.keys[i] < second.keys[j]) {
+                i++;
+            } else if (first.keys[i] > second.keys[j]) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(first.keys[i], first.containers[i].and(second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values present in either set.
+     */
+    static RoaringBitmap or(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j >= second.size || i < first.size && first.keys[i] < second.keys[j]) {
+                result.appendIfNotEmpty(first.keys[i], first.containers[i].copy());
+                i++;
+            } else if (i >= first.size || first.keys[i] > second.keys[j]) {
+                result.appendIfNotEmpty(second.keys[j], second.containers[j].copy());
+                j++;
+            } else {
+                result.appendIfNotEmpty(first.keys[i], first.containers[i].or(second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values present in the first set but not in the second.
+     */
+    static RoaringBitmap andNot(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < first.size; i++) {
+            while (j < second.size && second.keys[j] < first.keys[i]) {
+                j++;
+            }
+            Container container = j < second.size && second.keys[j] == first.keys[i]
+                    ? first.containers[i].andNot(second.containers[j])
+                    : first.containers[i].copy();
+            result.appendIfNotEmpty(first.keys[i], container);
+        }
+        return result;
+    }
+
+    private void appendIfNotEmpty(char key, Container container) {
+        if (container.cardinality() > 0) {
+            insertContainer(size, key, container);
+        }
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * The values sharing one set of upper 16 bits, stored by their lower 16 bits.
+     * Updates return the container to use from then on, which may be of the other kind.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract Container copy();
+
+        abstract Container or(Container other);
+
+        /**
+         * Returns the values present in both containers, walking the smaller sorted array if either side has one.
+         */
+        Container and(Container other) {
+            if (other instanceof ArrayContainer && (this instanceof BitmapContainer
+                    || other.cardinality() < cardinality())) {
+                return other.and(this);
+            }
+            if (this instanceof ArrayContainer array) {
+                ArrayContainer result = new ArrayContainer();
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (other.contains(array.values[i])) {
+                        result.append(array.values[i]);
+                    }
+                }
+                return result;
+            }
+            BitmapContainer result = ((BitmapContainer) this).copy();
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < result.words.length; i++) {
+                result.words[i] &= otherWords[i];
+            }
+            return result.recount();
+        }
+
+        /**
+         * Returns the values present in this container but not in the other.
+         */
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer array) {
+                ArrayContainer result = new ArrayContainer();
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (!other.contains(array.values[i])) {
+                        result.append(array.values[i]);
+                    }
+                }
+                return result;
+            }
+            BitmapContainer result = ((BitmapContainer) this).copy();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.words[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < result.words.length; i++) {
+                    result.words[i] &= ~otherWords[i];
+                }
+            }
+            return result.recount();
+        }
+    }
+
+    /**
+     * A container storing its values as a sorted array.
+     */
+    private static class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        /**
+         * Appends a value larger than every value already held.
+         */
+        void append(char value) {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, cardinality * 2);
+            }
+            values[cardinality++] = value;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        ArrayContainer copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, Math.max(cardinality, 4));
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(cardinality + array.cardinality, 4)];
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                char value;
+                if (j >= array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                    value = values[i++];
+                } else if (i >= cardinality || values[i] > array.values[j]) {
+                    value = array.values[j++];
+                } else {
+                    value = values[i++];
+                    j++;
+                }
+                result.values[result.cardinality++] = value;
+            }
+            return result.cardinality > ARRAY_LIMIT ? result.toBitmap() : result;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * A container storing its values as one bit for each of the 65536 possible values.
+     */
+    private static class BitmapContainer extends Container {
+        private long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        BitmapContainer copy() {
+            BitmapContainer copy = new BitmapContainer();
+            copy.words = words.clone();
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = copy();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.add(array.values[i]);
+                }
+                return result;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < result.words.length; i++) {
+                result.words[i] |= otherWords[i];
+            }
+            return result.recount();
+        }
+
+        /**
+         * Recounts the values after a bulk operation, switching to an array if there are few enough.
+         */
+        Container recount() {
+            cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            forEach(0, value -> array.append((char) value));
+            return array;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package datastructures;
+
+import java.util.Arrays;
+
+import tasks.AbstractTask;
+
+/**
+ * The done status and the number of tags of every task as they were last recorded, indexed by slot.
+ * A task has already changed by the time its listener is called, so this is where the status it had
+ * before is read from, for the change to be logged along with what it replaced.
+ */
+class SlotStatus {
+    private int[] tagCounts = new int[64];
+    private long[] doneBits = new long[1];
+
+    /**
+     * Records the status and the number of tags of the task at its slot.
+     *
+     * @param slot the slot of the task
+     * @param task the task
+     */
+    void set(int slot, AbstractTask task) {
+        ensureCapacity(slot + 1);
+        tagCounts[slot] = task.getTags().size();
+        if (task.isDone()) {
+            doneBits[slot >>> 6] |= 1L << slot;
+        } else {
+            doneBits[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * Checks whether the task in the slot was recorded as done.
+     *
+     * @param slot the slot of the task
+     * @return true if the task was recorded as done
+     */
+    boolean isDone(int slot) {
+        return (doneBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Returns the number of tags recorded for the task in the slot.
+     *
+     * @param slot the slot of the task
+     * @return the number of tags the task had when its status was last recorded
+     */
+    int getTagCount(int slot) {
+        return tagCounts[slot];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > tagCounts.length) {
+            tagCounts = Arrays.copyOf(tagCounts, Math.max(capacity, tagCounts.length * 2));
+        }
+        if ((capacity + 63) >>> 6 > doneBits.length) {
+            doneBits = Arrays.copyOf(doneBits, Math.max((capacity + 63) >>> 6, doneBits.length * 2));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package datastructures;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A dictionary from each tag to the slots of the tasks carrying it, held as compressed bitmaps.
+ * Tags are compared exactly as they were typed.
+ */
+class TagIndex {
+    private static final RoaringBitmap NONE = new RoaringBitmap();
+
+    private final Map<String, RoaringBitmap> slotsByTag = new HashMap<>();
+
+    /**
+     * Records that the task in the slot carries the given tags. Tags already recorded are left as they are.
+     *
+     * @param slot the slot of the task
+     * @param tags the tags of the task
+     */
+    void add(int slot, Collection<String> tags) {
+        for (String tag : tags) {
+            slotsByTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    /**
+     * Removes the slot from the bitmap of every given tag.
+     *
+     * @param slot the slot of the task
+     * @param tags the tags of the task
+     */
+    void remove(int slot, Collection<String> tags) {
+        for (String tag : tags) {
+            RoaringBitmap slots = slotsByTag.get(tag);
+            if (slots == null) {
+                continue;
+            }
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                slotsByTag.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Returns the slots of the tasks carrying the tag. The bitmap must not be modified.
+     *
+     * @param tag the tag to look up
+     * @return the slots, empty if no task carries the tag
+     */
+    RoaringBitmap get(String tag) {
+        return slotsByTag.getOrDefault(tag, NONE);
+    }
+}
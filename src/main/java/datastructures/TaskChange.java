@@ -0,0 +1,131 @@
+package datastructures;
+
+import java.util.List;
+
+import tasks.AbstractTask;
+
+/**
+ * One change made to a TaskList, kept so that undo can revert it and redo can make it again.
+ * A change adds a task at an index, removes it from one, or updates the status and tags of a listed task.
+ * Only the status and tags of a task ever change, and tags are only ever added, so a change holds the task
+ * itself rather than a copy of it, along with just enough of its status to move it either way.
+ * The changes an undo or redo made are handed to the storage backends, so they can record them.
+ */
+public class TaskChange {
+    /**
+     * The kinds of change made to a TaskList.
+     */
+    public enum Kind {
+        ADD, REMOVE, UPDATE
+    }
+
+    private final Kind kind;
+    private final AbstractTask task;
+    private final int index;
+    private final boolean wasDone;
+    private final boolean isDone;
+    private final List<String> tags;
+    private final int previousTagCount;
+    private int slot = -1;
+    private int generation = -1;
+
+    private TaskChange(Kind kind, AbstractTask task, int index, boolean wasDone, int previousTagCount) {
+        this.kind = kind;
+        this.task = task;
+        this.index = index;
+        this.wasDone = wasDone;
+        this.isDone = task.isDone();
+        this.tags = List.copyOf(task.getTags());
+        this.previousTagCount = previousTagCount;
+    }
+
+    /**
+     * Records that a task was added at an index.
+     *
+     * @param task  the task
+     * @param index the index it was added at
+     * @return the change
+     */
+    static TaskChange added(AbstractTask task, int index) {
+        return new TaskChange(Kind.ADD, task, index, task.isDone(), task.getTags().size());
+    }
+
+    /**
+     * Records that a task was removed from an index, leaving a slot empty.
+     *
+     * @param task       the task
+     * @param index      the index it was removed from
+     * @param slot       the slot it left
+     * @param generation the numbering of the slots at the time
+     * @return the change
+     */
+    static TaskChange removed(AbstractTask task, int index, int slot, int generation) {
+        TaskChange change = new TaskChange(Kind.REMOVE, task, index, task.isDone(), task.getTags().size());
+        change.leftSlot(slot, generation);
+        return change;
+    }
+
+    /**
+     * Records that the status or tags of a listed task changed.
+     *
+     * @param task             the task, already carrying its new status and tags
+     * @param wasDone          whether the task was done before
+     * @param previousTagCount the number of tags the task had before
+     * @return the change
+     */
+    static TaskChange updated(AbstractTask task, boolean wasDone, int previousTagCount) {
+        return new TaskChange(Kind.UPDATE, task, -1, wasDone, previousTagCount);
+    }
+
+    /**
+     * Records the slot the task left when it was last taken out of the list, so that putting it back
+     * can reuse the slot as long as the slots have not been renumbered since.
+     *
+     * @param slot       the slot the task left
+     * @param generation the numbering of the slots at the time
+     */
+    void leftSlot(int slot, int generation) {
+        this.slot = slot;
+        this.generation = generation;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public AbstractTask getTask() {
+        return task;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns whether the task is done on the given side of an update.
+     *
+     * @param isAfter true for the status after the update, false for the status before it
+     * @return whether the task is done
+     */
+    boolean isDone(boolean isAfter) {
+        return isAfter ? isDone : wasDone;
+    }
+
+    /**
+     * Returns the tags of the task on the given side of an update.
+     *
+     * @param isAfter true for the tags after the update, false for the tags before it
+     * @return the tags, in the order they were added
+     */
+    List<String> getTags(boolean isAfter) {
+        return isAfter ? tags : tags.subList(0, previousTagCount);
+    }
+}
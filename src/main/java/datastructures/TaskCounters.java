@@ -0,0 +1,123 @@
+package datastructures;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+
+/**
+ * Running counts over the tasks of a list, kept up to date as tasks are added, removed, marked and tagged,
+ * so statistics are read without visiting any task.
+ * Whether a deadline is overdue depends on the day it is asked, so the pending deadlines are also counted
+ * by day. The number of them due before a cutoff day is kept alongside, and the cutoff is moved to the
+ * current day when asked, adding or taking away only the days it moves over.
+ */
+class TaskCounters {
+    private final Map<String, Integer> countsByType = new HashMap<>();
+    private final Map<String, Integer> countsByTag = new HashMap<>();
+    private final NavigableMap<Long, Integer> pendingDeadlinesByDay = new TreeMap<>();
+    private int taskCount;
+    private int doneCount;
+    private long overdueCutoff = LocalDate.now().toEpochDay();
+    private int overdueCount;
+
+    /**
+     * Counts a task that joined the list.
+     *
+     * @param task the task
+     */
+    void add(AbstractTask task) {
+        taskCount++;
+        countsByType.merge(task.getTaskType(), 1, Integer::sum);
+        for (String tag : new LinkedHashSet<>(task.getTags())) {
+            addTag(tag);
+        }
+        if (task.isDone()) {
+            doneCount++;
+        } else {
+            addPendingDeadline(task, 1);
+        }
+    }
+
+    /**
+     * Stops counting a task that left the list.
+     *
+     * @param task the task
+     */
+    void remove(AbstractTask task) {
+        taskCount--;
+        countsByType.merge(task.getTaskType(), -1, Integer::sum);
+        for (String tag : new LinkedHashSet<>(task.getTags())) {
+            countsByTag.merge(tag, -1, (count, change) -> count + change == 0 ? null : count + change);
+        }
+        if (task.isDone()) {
+            doneCount--;
+        } else {
+            addPendingDeadline(task, -1);
+        }
+    }
+
+    /**
+     * Records that a task on the list was marked as done or undone.
+     *
+     * @param task the task, already carrying its new status
+     */
+    void statusChanged(AbstractTask task) {
+        doneCount += task.isDone() ? 1 : -1;
+        addPendingDeadline(task, task.isDone() ? -1 : 1);
+    }
+
+    /**
+     * Counts one more task carrying the tag.
+     *
+     * @param tag the tag
+     */
+    void addTag(String tag) {
+        countsByTag.merge(tag, 1, Integer::sum);
+    }
+
+    /**
+     * Returns the counts as they stand, with the deadlines counted as overdue if they are due before today.
+     * Moving the cutoff touches the shared counts, so concurrent readers take turns here.
+     *
+     * @param today the current date
+     * @return a snapshot of the counts
+     */
+    synchronized TaskStatistics snapshot(LocalDate today) {
+        long todayDay = today.toEpochDay();
+        if (todayDay > overdueCutoff) {
+            overdueCount += sum(pendingDeadlinesByDay.subMap(overdueCutoff, true, todayDay, false));
+        } else if (todayDay < overdueCutoff) {
+            overdueCount -= sum(pendingDeadlinesByDay.subMap(todayDay, true, overdueCutoff, false));
+        }
+        overdueCutoff = todayDay;
+        return new TaskStatistics(taskCount, countsByType, doneCount, overdueCount, countsByTag);
+    }
+
+    /**
+     * Adds the change to the count of pending deadlines on the day of the task, if it is a deadline.
+     */
+    private void addPendingDeadline(AbstractTask task, int change) {
+        if (!(task instanceof DeadlineTask deadlineTask)) {
+            return;
+        }
+        long day = deadlineTask.getBy().toEpochDay();
+        pendingDeadlinesByDay.merge(day, change, (count, delta) -> count + delta == 0 ? null : count + delta);
+        if (day < overdueCutoff) {
+            overdueCount += change;
+        }
+    }
+
+    private static int sum(Map<Long, Integer> counts) {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
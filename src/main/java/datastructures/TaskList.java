@@ -1,16 +1,82 @@
 package datastructures;
 
+import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TaskChangeListener;
 
 /**
  * Represents a list of tasks.
- * This class manages a collection of AbstractTask objects.
+ * This class manages a collection of AbstractTask objects, and tracks which of them
+ * have changed since they were last written so that storage can save only those.
+ * Every task is held in a slot: an id that increases along the list and is never reused while the task
+ * is listed, so a task is found from its slot through a hash map. A Fenwick tree over the slots numbers
+ * the tasks for display, so deleting one leaves its slot empty instead of shifting the later tasks.
+ * A keyword index and a tag index map words and tags to bitmaps of slots, so queries are
+ * answered without scanning the list, and their matches come out in list order. A trigram index
+ * narrows substring searches down to a few candidates before their descriptions are checked, and a
+ * BK-tree over the words of the descriptions finds the words close to a misspelt one. Date indexes over the
+ * deadlines and the event start dates answer date ranges the same way, and an interval tree over the
+ * event ranges finds the events overlapping a window. Running counts by type, status and tag are kept
+ * as tasks change, so statistics are read without visiting any. Deleted slots are left
+ * empty until they outnumber the tasks, at which point every task is given a fresh slot.
+ * The TaskList is safe to share between threads. Changes take the write side of a StampedLock, while
+ * queries share its read side; the simplest lookups first try an optimistic read that takes no lock at all.
+ * The full list is handed out as an immutable snapshot, so listing and scanning never hold the lock.
+ * Filters that no index can answer scan that snapshot, split across a fork-join pool once the list is long.
+ * Snapshots are persistent lists: each change copies only a logarithmic number of nodes, so a snapshot
+ * is always ready without copying the tasks. Every change is also logged, and checkpoints cut the log into
+ * steps that undo reverts and redo makes again, touching only the tasks and index entries the step changed.
+ * Undo is therefore a change log rather than a switch between persistent versions: the tasks are mutable and
+ * every index is built over them, so keeping an old version of the list alone would not bring back a task's
+ * status or tags, nor the index entries. An undo or redo costs time in proportion to the size of its step.
  */
 public class TaskList {
-    private final List<AbstractTask> tasks;
+    private static final int MAX_UNDO_STEPS = 100;
+
+    private final Set<AbstractTask> dirtyTasks = new LinkedHashSet<>();
+    private final Set<AbstractTask> removedTasks = new LinkedHashSet<>();
+    private final TaskChangeListener changeListener = this::onTaskChanged;
+    private final List<AbstractTask> slots = new ArrayList<>();
+    private final Map<AbstractTask, Integer> slotIds = new HashMap<>();
+    private final StampedLock lock = new StampedLock();
+    private final ParallelScan scanner = new ParallelScan(ForkJoinPool.commonPool(), ParallelScan.DEFAULT_THRESHOLD);
+    private final Deque<List<TaskChange>> undoSteps = new ArrayDeque<>();
+    private final Deque<List<TaskChange>> redoSteps = new ArrayDeque<>();
+    private List<TaskChange> pendingChanges = new ArrayList<>();
+    private List<TaskChange> replayedChanges = new ArrayList<>();
+    private volatile PersistentList<AbstractTask> order = PersistentList.empty();
+    private int generation;
+    private boolean hasInsertedTasks;
+    private FenwickTree liveCounts = new FenwickTree();
+    private RoaringBitmap liveSlots = new RoaringBitmap();
+    private KeywordIndex keywordIndex = new KeywordIndex();
+    private TrigramIndex trigramIndex = new TrigramIndex();
+    private BkTree vocabulary = new BkTree();
+    private TagIndex tagIndex = new TagIndex();
+    private DateIndex deadlineIndex = new DateIndex();
+    private DateIndex eventIndex = new DateIndex();
+    private IntervalTree eventRanges = new IntervalTree();
+    private SlotStatus statuses = new SlotStatus();
+    private TaskCounters counters = new TaskCounters();
 
     /**
      * Constructs a TaskList with the given list of tasks.
@@ -18,14 +84,13 @@ public class TaskList {
      * @param tasks a List of AbstractTask objects to initialize the TaskList
      */
     public TaskList(List<AbstractTask> tasks) {
-        this.tasks = tasks;
+        trackAll(tasks);
     }
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
     }
 
     /**
@@ -34,7 +99,178 @@ public class TaskList {
      * @param tasks an ArrayList of AbstractTask objects to initialize the TaskList
      */
     public TaskList(ArrayList<AbstractTask> tasks) {
-        this.tasks = tasks;
+        trackAll(tasks);
+    }
+
+    /**
+     * Starts tracking changes to the initial tasks, and indexes them.
+     */
+    private void trackAll(List<AbstractTask> tasks) {
+        for (AbstractTask task : tasks) {
+            task.setChangeListener(changeListener);
+            if (task.isDirty()) {
+                dirtyTasks.add(task);
+            }
+            index(task);
+            order = order.plus(order.size(), task);
+        }
+    }
+
+    /**
+     * Gives the task the next slot, and adds it to the indexes.
+     */
+    private void index(AbstractTask task) {
+        slots.add(null);
+        liveCounts.append(0);
+        index(task, slots.size() - 1);
+    }
+
+    /**
+     * Puts the task in an empty slot, and adds it to the indexes.
+     */
+    private void index(AbstractTask task, int slot) {
+        slots.set(slot, task);
+        slotIds.put(task, slot);
+        liveCounts.add(slot, 1);
+        liveSlots.add(slot);
+        for (String word : keywordIndex.add(slot, task.getDescription())) {
+            vocabulary.add(word);
+        }
+        trigramIndex.add(slot, task.getDescription());
+        tagIndex.add(slot, task.getTags());
+        statuses.set(slot, task);
+        counters.add(task);
+        if (task instanceof DeadlineTask deadlineTask) {
+            deadlineIndex.add(slot, deadlineTask.getBy());
+        } else if (task instanceof EventTask eventTask) {
+            eventIndex.add(slot, eventTask.getFrom());
+            eventRanges.add(slot, eventTask.getFrom(), eventTask.getTo());
+        }
+    }
+
+    /**
+     * Frees the slot of the task, and removes it from the indexes.
+     */
+    private void unindex(AbstractTask task) {
+        int slot = slotIds.remove(task);
+        slots.set(slot, null);
+        liveCounts.add(slot, -1);
+        liveSlots.remove(slot);
+        for (String word : keywordIndex.remove(slot, task.getDescription())) {
+            vocabulary.remove(word);
+        }
+        trigramIndex.remove(slot, task.getDescription());
+        tagIndex.remove(slot, task.getTags());
+        counters.remove(task);
+        if (task instanceof DeadlineTask deadlineTask) {
+            deadlineIndex.remove(slot, deadlineTask.getBy());
+        } else if (task instanceof EventTask eventTask) {
+            eventIndex.remove(slot, eventTask.getFrom());
+            eventRanges.remove(slot, eventTask.getFrom());
+        }
+    }
+
+    /**
+     * Gives every task a fresh slot once the empty slots outnumber the tasks.
+     */
+    private void compactIfSparse() {
+        if (slots.size() > 2 * slotIds.size() + 64) {
+            reindex(new ArrayList<>(order));
+        }
+    }
+
+    /**
+     * Gives every task a fresh slot in the given order, and rebuilds the indexes.
+     */
+    private void reindex(List<AbstractTask> tasks) {
+        generation++;
+        slots.clear();
+        slotIds.clear();
+        liveCounts = new FenwickTree();
+        liveSlots = new RoaringBitmap();
+        keywordIndex = new KeywordIndex();
+        trigramIndex = new TrigramIndex();
+        vocabulary = new BkTree();
+        tagIndex = new TagIndex();
+        deadlineIndex = new DateIndex();
+        eventIndex = new DateIndex();
+        eventRanges = new IntervalTree();
+        statuses = new SlotStatus();
+        counters = new TaskCounters();
+        for (AbstractTask task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Records that a task changed, indexes and counts any tags it gained, and updates its recorded status
+     * and counts. The status and tag count it had before are read from the record, and logged with the change.
+     */
+    private void onTaskChanged(AbstractTask task) {
+        write(() -> {
+            dirtyTasks.add(task);
+            Integer slot = slotIds.get(task);
+            if (slot != null) {
+                boolean wasDone = statuses.isDone(slot);
+                int previousTagCount = statuses.getTagCount(slot);
+                for (String tag : new LinkedHashSet<>(task.getTags())) {
+                    if (!tagIndex.get(tag).contains(slot)) {
+                        counters.addTag(tag);
+                    }
+                }
+                if (wasDone != task.isDone()) {
+                    counters.statusChanged(task);
+                }
+                tagIndex.add(slot, task.getTags());
+                statuses.set(slot, task);
+                if (wasDone != task.isDone() || previousTagCount != task.getTags().size()) {
+                    pendingChanges.add(TaskChange.updated(task, wasDone, previousTagCount));
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs a change under the write lock.
+     */
+    private void write(Runnable change) {
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs a query under the read lock, which any number of readers may hold at once.
+     */
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a short lookup as an optimistic read, falling back to the read lock if a writer interfered.
+     * The lookup must only read a bounded number of fields, as it may see the structures mid-change.
+     */
+    private <T> T readOptimistically(Supplier<T> lookup) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = lookup.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // A writer moved the structures underneath the lookup, so it is retried under the lock.
+            }
+        }
+        return read(lookup);
     }
 
     /**
@@ -43,16 +279,116 @@ public class TaskList {
      * @param task the AbstractTask to add
      */
     public void addTask(AbstractTask task) {
-        tasks.add(task);
+        task.setChangeListener(changeListener);
+        write(() -> {
+            dirtyTasks.add(task);
+            pendingChanges.add(TaskChange.added(task, order.size()));
+            index(task);
+            order = order.plus(order.size(), task);
+        });
+    }
+
+    /**
+     * Inserts groups of tasks into the TaskList, each group right after a task already in it.
+     * Every task is placed in the persistent lists by position, and the slots are then renumbered once
+     * for the whole batch, since a task inserted between two others has no free slot between theirs.
+     * When the only group goes at the end of the list, its tasks are indexed as they are added instead.
+     *
+     * @param insertions the tasks to insert, in order, keyed by the task they follow, or by null to go first
+     */
+    public void insertTasks(Map<AbstractTask, List<AbstractTask>> insertions) {
+        for (List<AbstractTask> group : insertions.values()) {
+            for (AbstractTask task : group) {
+                task.setChangeListener(changeListener);
+            }
+        }
+        write(() -> {
+            TreeMap<Integer, List<AbstractTask>> groups = new TreeMap<>();
+            for (Map.Entry<AbstractTask, List<AbstractTask>> insertion : insertions.entrySet()) {
+                Integer slot = insertion.getKey() == null ? null : slotIds.get(insertion.getKey());
+                groups.put(slot == null ? 0 : liveCounts.prefixSum(slot) + 1, insertion.getValue());
+            }
+            boolean isAppend = groups.size() == 1 && groups.firstKey() == order.size();
+            int shift = 0;
+            for (Map.Entry<Integer, List<AbstractTask>> group : groups.entrySet()) {
+                int index = group.getKey() + shift;
+                for (AbstractTask task : group.getValue()) {
+                    pendingChanges.add(TaskChange.added(task, index));
+                    order = order.plus(index, task);
+                    dirtyTasks.add(task);
+                    if (isAppend) {
+                        index(task);
+                    }
+                    index++;
+                }
+                shift += group.getValue().size();
+            }
+            if (!isAppend && shift > 0) {
+                hasInsertedTasks = true;
+                reindex(new ArrayList<>(order));
+            }
+        });
     }
 
     /**
      * Deletes a task from the TaskList at the specified index.
+     * The slot of the task is left empty, so no other task moves.
      *
      * @param index the index of the task to remove
      */
     public void deleteTask(int index) {
-        tasks.remove(index);
+        write(() -> {
+            AbstractTask task = taskAt(index);
+            pendingChanges.add(TaskChange.removed(task, index, slotIds.get(task), generation));
+            task.setChangeListener(null);
+            order = order.minus(index);
+            dirtyTasks.remove(task);
+            unindex(task);
+            if (task.getFileOffset() >= 0) {
+                removedTasks.add(task);
+            }
+            compactIfSparse();
+        });
+    }
+
+    /**
+     * Returns the tasks changed or added since the last save, in the order they first changed.
+     *
+     * @return a Collection of dirty tasks
+     */
+    public Collection<AbstractTask> getDirtyTasks() {
+        return read(() -> List.copyOf(dirtyTasks));
+    }
+
+    /**
+     * Returns the deleted tasks that still have a line in the storage file.
+     *
+     * @return a List of removed tasks
+     */
+    public List<AbstractTask> getRemovedTasks() {
+        return read(() -> List.copyOf(removedTasks));
+    }
+
+    /**
+     * Forgets all tracked changes, once they have been saved.
+     */
+    public void clearChanges() {
+        write(() -> {
+            dirtyTasks.clear();
+            removedTasks.clear();
+            hasInsertedTasks = false;
+        });
+    }
+
+    /**
+     * Returns whether a task without a line in the storage file was placed before other tasks since the changes
+     * were last cleared, as when a batch is inserted or an undo brings back a task whose line was already
+     * blanked out. Appending its line to the file would then put it out of order.
+     *
+     * @return true if the tasks have to be written out in full to keep the file in list order
+     */
+    public boolean hasInsertedTasks() {
+        return read(() -> hasInsertedTasks);
     }
 
     /**
@@ -62,7 +398,27 @@ public class TaskList {
      * @return the AbstractTask at the given index
      */
     public AbstractTask getTask(int index) {
-        return tasks.get(index);
+        return readOptimistically(() -> taskAt(index));
+    }
+
+    private AbstractTask taskAt(int index) {
+        if (index < 0 || index >= slotIds.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + slotIds.size());
+        }
+        return slots.get(liveCounts.select(index));
+    }
+
+    /**
+     * Returns the index of a task, found from its slot rather than by searching the list.
+     *
+     * @param task the task to look up
+     * @return the index of the task, or -1 if it is not in the TaskList
+     */
+    public int indexOf(AbstractTask task) {
+        return read(() -> {
+            Integer slot = slotIds.get(task);
+            return slot == null ? -1 : liveCounts.prefixSum(slot);
+        });
     }
 
     /**
@@ -71,30 +427,482 @@ public class TaskList {
      * @return the size of the TaskList
      */
     public int getSize() {
-        return tasks.size();
+        return readOptimistically(slotIds::size);
     }
 
     /**
-     * Returns the list of tasks.
+     * Returns the list of tasks, as an immutable snapshot that later changes leave untouched.
      *
      * @return a List of AbstractTask objects
      */
     public List<AbstractTask> getTasks() {
-        return tasks;
+        return order;
+    }
+
+    /**
+     * Returns the tasks that pass the filter, scanning a snapshot of the list without holding the lock.
+     * Lists of at least the parallel scan threshold are split into ranges filtered on a fork-join pool,
+     * and the matches are joined back in list order.
+     *
+     * @param filter the test each returned task passes, which must be safe to call from several threads
+     * @return the matching tasks, in list order
+     */
+    public List<AbstractTask> scanTasks(Predicate<? super AbstractTask> filter) {
+        return scanner.filter(getTasks(), filter);
+    }
+
+    /**
+     * Sets the number of tasks from which scans run in parallel.
+     *
+     * @param threshold the smallest list length that is scanned in parallel
+     */
+    public void setParallelScanThreshold(int threshold) {
+        scanner.setThreshold(threshold);
+    }
+
+    /**
+     * Returns a cursor over the tasks, starting at the given index.
+     * The cursor walks the snapshot taken when it was created, so later changes do not disturb it,
+     * and reaching the starting index does not visit the tasks before it.
+     *
+     * @param fromIndex the index of the first task to return, up to the number of tasks
+     * @return an Iterator over the tasks from the index onwards, in list order
+     */
+    public Iterator<AbstractTask> cursor(int fromIndex) {
+        return order.iterator(fromIndex);
+    }
+
+    /**
+     * Marks the current state of the tasks as a version that undo can return to, closing the changes
+     * logged since the last checkpoint into one step.
+     * Nothing is recorded if the tasks have not changed since the last checkpoint.
+     * Any steps that were undone can no longer be redone once a new step is recorded.
+     */
+    public void checkpoint() {
+        write(() -> {
+            if (pendingChanges.isEmpty()) {
+                return;
+            }
+            undoSteps.push(pendingChanges);
+            if (undoSteps.size() > MAX_UNDO_STEPS) {
+                undoSteps.removeLast();
+            }
+            redoSteps.clear();
+            pendingChanges = new ArrayList<>();
+        });
+    }
+
+    /**
+     * Returns the tasks to the version marked by the checkpoint before the last one, by reverting the
+     * changes of the last step in reverse order. Changes made since the last checkpoint are discarded.
+     * The cost grows with the number of changes reverted, not with the number of tasks.
+     *
+     * @return true if there was a version to return to, false otherwise
+     */
+    public boolean undo() {
+        long stamp = lock.writeLock();
+        try {
+            if (undoSteps.isEmpty()) {
+                return false;
+            }
+            replayedChanges = new ArrayList<>();
+            replay(pendingChanges, false);
+            pendingChanges = new ArrayList<>();
+            List<TaskChange> step = undoSteps.pop();
+            replay(step, false);
+            redoSteps.push(step);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks to the version most recently left by undo, by making the changes of its step again.
+     * Changes made since the last checkpoint are discarded.
+     *
+     * @return true if there was a version to return to, false otherwise
+     */
+    public boolean redo() {
+        long stamp = lock.writeLock();
+        try {
+            if (redoSteps.isEmpty()) {
+                return false;
+            }
+            replayedChanges = new ArrayList<>();
+            replay(pendingChanges, false);
+            pendingChanges = new ArrayList<>();
+            List<TaskChange> step = redoSteps.pop();
+            replay(step, true);
+            undoSteps.push(step);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the changes the last undo or redo made to the tasks, in the order it made them, so that they
+     * can be recorded in storage. An added task was put back, a removed one taken out, and an updated one
+     * had its status and tags moved, to those it has now.
+     *
+     * @return the changes, starting with those that discarded the changes made since the last checkpoint
+     */
+    public List<TaskChange> getReplayedChanges() {
+        return read(() -> List.copyOf(replayedChanges));
+    }
+
+    /**
+     * Forgets every version, so that the current state of the tasks can no longer be undone.
+     */
+    public void clearHistory() {
+        write(() -> {
+            undoSteps.clear();
+            redoSteps.clear();
+            pendingChanges = new ArrayList<>();
+        });
+    }
+
+    /**
+     * Makes the changes of a step again in order, or reverts them in reverse order, under the write lock.
+     * Only the tasks the step touched are updated in the indexes and tracked as dirty or removed, and every
+     * change made is added to the replayed changes.
+     * A task put back into the list takes the slot it left, which still sits between the slots of its
+     * neighbours, unless the slots were renumbered since; the indexes are then rebuilt once at the end.
+     */
+    private void replay(List<TaskChange> changes, boolean isForward) {
+        boolean isReindexNeeded = false;
+        for (int i = 0; i < changes.size(); i++) {
+            TaskChange change = changes.get(isForward ? i : changes.size() - 1 - i);
+            switch (change.getKind()) {
+            case ADD -> {
+                if (isForward) {
+                    isReindexNeeded |= !putBack(change);
+                    replayedChanges.add(TaskChange.added(change.getTask(), change.getIndex()));
+                } else {
+                    takeOut(change);
+                    replayedChanges.add(TaskChange.removed(change.getTask(), change.getIndex(), -1, -1));
+                }
+            }
+            case REMOVE -> {
+                if (isForward) {
+                    takeOut(change);
+                    replayedChanges.add(TaskChange.removed(change.getTask(), change.getIndex(), -1, -1));
+                } else {
+                    isReindexNeeded |= !putBack(change);
+                    replayedChanges.add(TaskChange.added(change.getTask(), change.getIndex()));
+                }
+            }
+            default -> {
+                setStatus(change.getTask(), change.isDone(isForward), change.getTags(isForward));
+                replayedChanges.add(change);
+            }
+            }
+        }
+        if (isReindexNeeded) {
+            reindex(new ArrayList<>(order));
+        } else {
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Puts the task of a change back into the list at the index of the change.
+     * A task whose deletion was not saved yet still has its line in the file, in the right place, so the line
+     * is kept; otherwise the task is written out as a new line.
+     *
+     * @return true if the task was indexed in the slot it left, false if the slots have to be renumbered
+     */
+    private boolean putBack(TaskChange change) {
+        AbstractTask task = change.getTask();
+        task.setChangeListener(changeListener);
+        order = order.plus(change.getIndex(), task);
+        dirtyTasks.add(task);
+        if (!removedTasks.remove(task)) {
+            task.clearFileLocation();
+            hasInsertedTasks |= change.getIndex() < order.size() - 1;
+        }
+        if (change.getGeneration() != generation) {
+            return false;
+        }
+        index(task, change.getSlot());
+        return true;
+    }
+
+    /**
+     * Takes the task of a change out of the list at the index of the change, recording the slot it leaves.
+     */
+    private void takeOut(TaskChange change) {
+        AbstractTask task = change.getTask();
+        task.setChangeListener(null);
+        order = order.minus(change.getIndex());
+        dirtyTasks.remove(task);
+        Integer slot = slotIds.get(task);
+        change.leftSlot(slot == null ? -1 : slot, slot == null ? -1 : generation);
+        if (slot != null) {
+            unindex(task);
+        }
+        if (task.getFileOffset() >= 0) {
+            removedTasks.add(task);
+        }
+    }
+
+    /**
+     * Sets the status and tags of a listed task, and moves its index entries and counts along with them.
+     */
+    private void setStatus(AbstractTask task, boolean isDone, List<String> tags) {
+        Integer slot = slotIds.get(task);
+        if (slot != null) {
+            tagIndex.remove(slot, task.getTags());
+            counters.remove(task);
+        }
+        task.setChangeListener(null);
+        task.restoreStatus(isDone, tags);
+        task.setChangeListener(changeListener);
+        dirtyTasks.add(task);
+        if (slot != null) {
+            tagIndex.add(slot, task.getTags());
+            statuses.set(slot, task);
+            counters.add(task);
+        }
     }
 
     /**
      * Finds tasks that contain the specified keyword in their descriptions.
+     * Keywords of at least three characters are first narrowed down through the trigram index,
+     * so only the candidates it returns are checked; shorter keywords are checked against every task by a scan.
+     *
      * @param keyword The keyword to search for in the task descriptions
-     * @return A list of tasks that contain the keyword in their descriptions
+     * @return A list of tasks that contain the keyword in their descriptions, in list order
      */
     public List<AbstractTask> findTasks(String keyword) {
-        List<AbstractTask> foundTasks = new ArrayList<>();
-        for (AbstractTask task : tasks) {
-            if (task.getDescription().contains(keyword)) {
-                foundTasks.add(task);
-            }
+        if (keyword.length() < TrigramIndex.GRAM_LENGTH) {
+            return scanTasks(task -> task.getDescription().contains(keyword));
         }
+        return read(() -> {
+            List<AbstractTask> foundTasks = new ArrayList<>();
+            trigramIndex.candidates(keyword).forEach(slot -> {
+                AbstractTask task = slots.get(slot);
+                if (task.getDescription().contains(keyword)) {
+                    foundTasks.add(task);
+                }
+            });
+            return foundTasks;
+        });
+    }
+
+    /**
+     * Finds tasks whose descriptions contain every word of the query as a whole word, ignoring case.
+     * The query is answered from the keyword index, so its cost depends on the number of matches.
+     *
+     * @param query the words to search for, separated by spaces or punctuation
+     * @return the matching tasks, in list order
+     */
+    public List<AbstractTask> findTasksByWords(String query) {
+        return read(() -> tasksInSlots(keywordIndex.find(KeywordIndex.tokenize(query))));
+    }
+
+    /**
+     * Finds tasks whose descriptions contain a word within the given edit distance of the keyword, ignoring case.
+     * The close words are found in the BK-tree over the vocabulary, and their tasks in the keyword index.
+     *
+     * @param keyword     the word to search for
+     * @param maxDistance the largest number of single-character edits allowed between the keyword and a word
+     * @return the matching tasks, those with the closest word first and in list order on the same distance
+     */
+    public List<AbstractTask> findTasksFuzzy(String keyword, int maxDistance) {
+        String word = keyword.toLowerCase(Locale.ROOT);
+        return read(() -> {
+            List<AbstractTask> foundTasks = new ArrayList<>();
+            RoaringBitmap seen = new RoaringBitmap();
+            for (List<String> words : vocabulary.find(word, maxDistance)) {
+                RoaringBitmap matches = new RoaringBitmap();
+                for (String closeWord : words) {
+                    matches = RoaringBitmap.or(matches, keywordIndex.find(List.of(closeWord)));
+                }
+                matches = RoaringBitmap.andNot(matches, seen);
+                foundTasks.addAll(tasksInSlots(matches));
+                seen = RoaringBitmap.or(seen, matches);
+            }
+            return foundTasks;
+        });
+    }
+
+    /**
+     * Finds tasks by their tags, through intersections, unions and differences of the tag bitmaps.
+     * A task matches if, for every group of required tags, it carries at least one tag of the group,
+     * and it carries none of the excluded tags. With no required groups, every task not excluded matches.
+     *
+     * @param requiredGroups the groups of tags, any one of which is enough within a group
+     * @param excludedTags   the tags a matching task must not carry
+     * @return the matching tasks, in list order
+     */
+    public List<AbstractTask> findTasksByTags(List<List<String>> requiredGroups, List<String> excludedTags) {
+        return read(() -> {
+            RoaringBitmap matches = null;
+            for (List<String> group : requiredGroups) {
+                RoaringBitmap anyOf = new RoaringBitmap();
+                for (String tag : group) {
+                    anyOf = RoaringBitmap.or(anyOf, tagIndex.get(tag));
+                }
+                matches = matches == null ? anyOf : RoaringBitmap.and(matches, anyOf);
+            }
+            if (matches == null) {
+                matches = liveSlots;
+            }
+            for (String tag : excludedTags) {
+                matches = RoaringBitmap.andNot(matches, tagIndex.get(tag));
+            }
+            return tasksInSlots(matches);
+        });
+    }
+
+    /**
+     * Finds the deadlines falling strictly between two dates, from the deadline index.
+     *
+     * @param after  the date the deadlines must fall after
+     * @param before the date the deadlines must fall before
+     * @return the matching deadlines, in list order
+     */
+    public List<DeadlineTask> findDeadlinesBetween(LocalDate after, LocalDate before) {
+        return read(() -> {
+            List<DeadlineTask> foundTasks = new ArrayList<>();
+            for (int slot : deadlineIndex.findBetween(after, before)) {
+                foundTasks.add((DeadlineTask) slots.get(slot));
+            }
+            return foundTasks;
+        });
+    }
+
+    /**
+     * Finds the events starting strictly between two dates, from the event index.
+     *
+     * @param after  the date the events must start after
+     * @param before the date the events must start before
+     * @return the matching events, in list order
+     */
+    public List<EventTask> findEventsStartingBetween(LocalDate after, LocalDate before) {
+        return read(() -> {
+            List<EventTask> foundTasks = new ArrayList<>();
+            for (int slot : eventIndex.findBetween(after, before)) {
+                foundTasks.add((EventTask) slots.get(slot));
+            }
+            return foundTasks;
+        });
+    }
+
+    /**
+     * Finds the events sharing at least one day with a window, from the interval tree over the events.
+     *
+     * @param from the first day of the window
+     * @param to   the last day of the window
+     * @return the overlapping events, earliest start first and in list order on the same day
+     */
+    public List<EventTask> findEventsOverlapping(LocalDate from, LocalDate to) {
+        return read(() -> {
+            List<EventTask> foundTasks = new ArrayList<>();
+            for (int slot : eventRanges.findOverlapping(from, to)) {
+                foundTasks.add((EventTask) slots.get(slot));
+            }
+            return foundTasks;
+        });
+    }
+
+    /**
+     * Counts the tasks whose descriptions contain every word of the query, from the keyword index.
+     *
+     * @param query the words to look up
+     * @return the number of tasks findTasksByWords would return for the query
+     */
+    public int countTasksWithWords(String query) {
+        return read(() -> keywordIndex.find(KeywordIndex.tokenize(query)).cardinality());
+    }
+
+    /**
+     * Counts the tasks carrying the tag, from the tag index.
+     *
+     * @param tag the tag to look up
+     * @return the number of tasks carrying the tag
+     */
+    public int countTasksWithTag(String tag) {
+        return read(() -> tagIndex.get(tag).cardinality());
+    }
+
+    /**
+     * Counts the deadlines falling strictly between two dates, from the deadline index.
+     *
+     * @param after  the date the deadlines must fall after
+     * @param before the date the deadlines must fall before
+     * @return the number of deadlines findDeadlinesBetween would return
+     */
+    public int countDeadlinesBetween(LocalDate after, LocalDate before) {
+        return read(() -> deadlineIndex.countBetween(after, before));
+    }
+
+    /**
+     * Counts the events starting strictly between two dates, from the event index.
+     *
+     * @param after  the date the events must start after
+     * @param before the date the events must start before
+     * @return the number of events findEventsStartingBetween would return
+     */
+    public int countEventsStartingBetween(LocalDate after, LocalDate before) {
+        return read(() -> eventIndex.countBetween(after, before));
+    }
+
+    /**
+     * Checks whether the text contains every word of the query, matching words the way the keyword index does.
+     * A query without any words matches nothing, as in findTasksByWords.
+     *
+     * @param text  the text to search, such as a task description
+     * @param query the words to look for
+     * @return true if every word of the query is a word of the text
+     */
+    public static boolean hasWords(String text, String query) {
+        List<String> words = KeywordIndex.tokenize(query);
+        return !words.isEmpty() && KeywordIndex.tokenize(text).containsAll(words);
+    }
+
+    /**
+     * Finds the done tasks whose deadline or last event day falls before the cutoff, and the done todos
+     * if asked for. These are the tasks to archive; todos have no date to age by, so they are only
+     * among them when the archive is asked for explicitly.
+     * The tasks are filtered by a scan of the list, as no index is kept over the done status.
+     *
+     * @param cutoff         the date the deadline or last event day must fall before
+     * @param isTodoIncluded whether every done todo is included too, whatever the cutoff
+     * @return the matching tasks, in list order
+     */
+    public List<AbstractTask> findCompletedBefore(LocalDate cutoff, boolean isTodoIncluded) {
+        return scanTasks(task -> {
+            if (!task.isDone()) {
+                return false;
+            }
+            if (task instanceof DeadlineTask deadlineTask) {
+                return deadlineTask.getBy().isBefore(cutoff);
+            } else if (task instanceof EventTask eventTask) {
+                return eventTask.getTo().isBefore(cutoff);
+            }
+            return isTodoIncluded;
+        });
+    }
+
+    /**
+     * Returns the counts of the tasks by type, status and tag, and the number of overdue deadlines.
+     * The counts are kept as the tasks change, so this costs the same however many tasks there are.
+     *
+     * @return a snapshot of the statistics of the list as of today
+     */
+    public TaskStatistics getStatistics() {
+        return read(() -> counters.snapshot(LocalDate.now()));
+    }
+
+    /**
+     * Returns the tasks in the given slots, in list order.
+     */
+    private List<AbstractTask> tasksInSlots(RoaringBitmap matches) {
+        List<AbstractTask> foundTasks = new ArrayList<>(matches.cardinality());
+        matches.forEach(slot -> foundTasks.add(slots.get(slot)));
         return foundTasks;
     }
 
@@ -107,8 +915,9 @@ public class TaskList {
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
-        for (int i = 0; i < tasks.size(); i++) {
-            output.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+        int number = 1;
+        for (AbstractTask task : getTasks()) {
+            output.append(number++).append(". ").append(task).append("\n");
         }
         return output.toString();
     }
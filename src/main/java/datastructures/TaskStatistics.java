@@ -0,0 +1,66 @@
+package datastructures;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A snapshot of the counts of a task list: tasks by type, done and pending tasks, overdue deadlines,
+ * and the number of tasks carrying each tag.
+ */
+public class TaskStatistics {
+    private final int taskCount;
+    private final Map<String, Integer> countsByType;
+    private final int doneCount;
+    private final int overdueCount;
+    private final Map<String, Integer> countsByTag;
+
+    TaskStatistics(int taskCount, Map<String, Integer> countsByType, int doneCount, int overdueCount,
+            Map<String, Integer> countsByTag) {
+        this.taskCount = taskCount;
+        this.countsByType = Map.copyOf(countsByType);
+        this.doneCount = doneCount;
+        this.overdueCount = overdueCount;
+        this.countsByTag = Collections.unmodifiableMap(new TreeMap<>(countsByTag));
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Returns the number of tasks of a type.
+     *
+     * @param taskType the type of task, such as "todo", "deadline" or "event"
+     * @return the number of tasks of that type
+     */
+    public int getCount(String taskType) {
+        return countsByType.getOrDefault(taskType, 0);
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public int getPendingCount() {
+        return taskCount - doneCount;
+    }
+
+    /**
+     * Returns the number of pending deadlines due before the day the snapshot was taken.
+     *
+     * @return the number of overdue deadlines
+     */
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    /**
+     * Returns the number of tasks carrying each tag, ordered by tag.
+     *
+     * @return an unmodifiable map from each tag to its number of tasks
+     */
+    public Map<String, Integer> getCountsByTag() {
+        return countsByTag;
+    }
+}
@@ -0,0 +1,87 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index from every run of three consecutive characters in task descriptions to the slots of the tasks
+ * containing it. Any description containing a string also contains every trigram of that string, so
+ * intersecting their bitmaps narrows a substring search down to a few candidates, which then only
+ * need to be checked with {@link String#contains}. Characters are compared exactly, as contains does.
+ */
+class TrigramIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+
+    /**
+     * Adds every trigram of a description to the index.
+     *
+     * @param slot        the slot of the task
+     * @param description the description of the task
+     */
+    void add(int slot, String description) {
+        for (long trigram : trigrams(description)) {
+            postings.computeIfAbsent(trigram, key -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    /**
+     * Removes the slot from the posting list of every trigram of a description.
+     *
+     * @param slot        the slot of the task
+     * @param description the description of the task
+     */
+    void remove(int slot, String description) {
+        for (long trigram : trigrams(description)) {
+            RoaringBitmap slots = postings.get(trigram);
+            if (slots == null) {
+                continue;
+            }
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the slots of the tasks whose descriptions contain every trigram of the query.
+     * These include every description containing the query, and possibly a few that do not.
+     *
+     * @param query the text to search for, at least {@link #GRAM_LENGTH} characters long
+     * @return the candidate slots, which must not be modified
+     */
+    RoaringBitmap candidates(String query) {
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (long trigram : trigrams(query)) {
+            RoaringBitmap slots = postings.get(trigram);
+            if (slots == null) {
+                return new RoaringBitmap();
+            }
+            lists.add(slots);
+        }
+        lists.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+        RoaringBitmap matches = lists.get(0);
+        for (int i = 1; i < lists.size() && !matches.isEmpty(); i++) {
+            matches = RoaringBitmap.and(matches, lists.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long as three 16-bit characters.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
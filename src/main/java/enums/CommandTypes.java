@@ -14,7 +14,13 @@ public enum CommandTypes {
     EVENT("event"),
     DELETE("delete"),
     UPCOMING("upcoming"),
+    BUSY("busy"),
     FIND("find"),
+    QUERY("query"),
+    STATS("stats"),
+    ARCHIVE("archive"),
+    UNDO("undo"),
+    REDO("redo"),
     BYE("bye"),
     UNKNOWN("unknown");
 
@@ -0,0 +1,38 @@
+package enums;
+
+/**
+ * Represents the available storage backends for the application.
+ * Each storage type is associated with the string value used to select it at startup.
+ */
+public enum StorageTypes {
+    MARKDOWN("markdown"),
+    MEMORY("memory"),
+    LOG("log");
+
+    private final String value;
+
+    /**
+     * Constructs a StorageTypes enum with the specified string value.
+     *
+     * @param value the string representation of the storage type
+     */
+    StorageTypes(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the StorageTypes enum that matches the given string value.
+     * The comparison is case-insensitive.
+     *
+     * @param value the string representation of the storage type
+     * @return the matching StorageTypes enum, or MARKDOWN if no match is found
+     */
+    public static StorageTypes fromValue(String value) {
+        for (StorageTypes storage : StorageTypes.values()) {
+            if (storage.value.equalsIgnoreCase(value)) {
+                return storage;
+            }
+        }
+        return MARKDOWN;
+    }
+}
@@ -1,14 +1,28 @@
 package helpers;
 
 import java.time.LocalDate;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
 
 /**
  * A collection of DateTime related functions
  */
 public class StandardDateTime {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final String[] MONTH_NAMES = new String[12];
+    private static final int CACHE_SIZE = 256;
+    private static final LocalDate[] CACHE = new LocalDate[CACHE_SIZE];
+
+    static {
+        // Month names are taken from the formatter itself, so the fast path accepts exactly what it accepts.
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", FORMATTER.getLocale());
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = LocalDate.of(2000, month, 1).format(monthFormatter);
+        }
+    }
+
     public static DateTimeFormatter getFormatter() {
-        return DateTimeFormatter.ofPattern("dd MMM yyyy");
+        return FORMATTER;
     }
 
     /**
@@ -18,7 +32,83 @@ public class StandardDateTime {
      * @return the LocalDate corresponding to the date string
      */
     public static LocalDate parseDateString(String dateString) {
-        return LocalDate.parse(dateString, getFormatter());
+        return parseDate(dateString, 0, dateString.length());
+    }
+
+    /**
+     * Parses the date between start and end of the given text, without copying it.
+     * Well-formed dates such as "07 Feb 2025" are parsed by hand and served from a small cache of
+     * recently parsed dates; anything else is handed to the formatter, which either resolves it or throws.
+     *
+     * @param text  the text holding the date
+     * @param start the index of the first character of the date
+     * @param end   the index after the last character of the date
+     * @return the LocalDate corresponding to the date
+     * @throws java.time.format.DateTimeParseException if the text is not a valid date
+     */
+    public static LocalDate parseDate(CharSequence text, int start, int end) {
+        if (end - start == 11 && text.charAt(start + 2) == ' ' && text.charAt(start + 6) == ' ') {
+            int day = digits(text, start, 2);
+            int month = month(text, start + 3);
+            int year = digits(text, start + 7, 4);
+            if (day > 0 && month > 0 && year > 0 && day <= Month.of(month).length(isLeap(year))) {
+                return cached(year, month, day);
+            }
+        }
+        return LocalDate.parse(text.subSequence(start, end), FORMATTER);
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return the value, or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Matches a three-letter month name.
+     *
+     * @return the month number from 1 to 12, or -1 if no month matches
+     */
+    private static int month(CharSequence text, int start) {
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            String name = MONTH_NAMES[i];
+            if (name.length() == 3 && name.charAt(0) == text.charAt(start)
+                    && name.charAt(1) == text.charAt(start + 1) && name.charAt(2) == text.charAt(start + 2)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLeap(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    /**
+     * Returns the date from the cache, creating and caching it on a miss.
+     * The cache is direct-mapped and only holds immutable dates, so concurrent loaders may race on
+     * a slot without harm: every hit is checked against the requested fields.
+     */
+    private static LocalDate cached(int year, int month, int day) {
+        int slot = (year * 372 + month * 31 + day) & (CACHE_SIZE - 1);
+        LocalDate date = CACHE[slot];
+        if (date != null && date.getDayOfMonth() == day && date.getMonthValue() == month && date.getYear() == year) {
+            return date;
+        }
+        date = LocalDate.of(year, month, day);
+        CACHE[slot] = date;
+        return date;
     }
 
     /**
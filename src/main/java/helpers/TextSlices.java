@@ -0,0 +1,51 @@
+package helpers;
+
+/**
+ * A collection of search functions over a slice of a CharSequence, used to parse text without copying it.
+ */
+public class TextSlices {
+    /**
+     * Returns the index of the first occurrence of the target within the slice.
+     *
+     * @param text   the text to search
+     * @param target the string to search for
+     * @param start  the index of the first character of the slice
+     * @param end    the index after the last character of the slice
+     * @return the index of the first occurrence, or -1 if there is none
+     */
+    public static int indexOf(CharSequence text, String target, int start, int end) {
+        for (int i = start; i <= end - target.length(); i++) {
+            if (matchesAt(text, target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the target within the slice.
+     *
+     * @param text   the text to search
+     * @param target the string to search for
+     * @param start  the index of the first character of the slice
+     * @param end    the index after the last character of the slice
+     * @return the index of the last occurrence, or -1 if there is none
+     */
+    public static int lastIndexOf(CharSequence text, String target, int start, int end) {
+        for (int i = end - target.length(); i >= start; i--) {
+            if (matchesAt(text, target, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matchesAt(CharSequence text, String target, int index) {
+        for (int j = 0; j < target.length(); j++) {
+            if (text.charAt(index + j) != target.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
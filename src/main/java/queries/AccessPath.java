@@ -0,0 +1,109 @@
+package queries;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A way of listing the candidate tasks of a query, along with the number of tasks it is expected to list.
+ * The planner compares these estimates to pick the most selective lookup.
+ */
+class AccessPath {
+    private final String name;
+    private final int estimatedSize;
+    private final boolean isInListOrder;
+    private final Supplier<List<? extends AbstractTask>> lookup;
+
+    /**
+     * Constructs an AccessPath.
+     *
+     * @param name          a short description of the lookup, such as "tag #work"
+     * @param estimatedSize the number of tasks the lookup is expected to list
+     * @param isInListOrder whether the lookup lists the tasks in list order
+     * @param lookup        the lookup itself, run only once the path has been chosen
+     */
+    AccessPath(String name, int estimatedSize, boolean isInListOrder, Supplier<List<? extends AbstractTask>> lookup) {
+        this.name = name;
+        this.estimatedSize = estimatedSize;
+        this.isInListOrder = isInListOrder;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Returns the path that visits every task of the list, filtering them by the condition as it goes,
+     * in parallel once the list is long enough.
+     *
+     * @param tasks     the TaskList to scan
+     * @param condition the condition the listed tasks meet
+     * @return the scan path
+     */
+    static AccessPath scan(TaskList tasks, Condition condition) {
+        return new AccessPath("scan", tasks.getSize(), true, () -> tasks.scanTasks(condition::test));
+    }
+
+    /**
+     * Returns the path that lists every task listed by any of the given paths, each task once.
+     *
+     * @param paths the paths to combine
+     * @return the union path, whose estimate is the sum of the estimates of the paths
+     */
+    static AccessPath union(List<AccessPath> paths) {
+        int estimatedSize = 0;
+        List<String> names = new ArrayList<>();
+        for (AccessPath path : paths) {
+            estimatedSize += path.estimatedSize;
+            names.add(path.name);
+        }
+        return new AccessPath(String.join(" + ", names), estimatedSize, false, () -> {
+            Set<AbstractTask> candidates = new LinkedHashSet<>();
+            for (AccessPath path : paths) {
+                candidates.addAll(path.lookup());
+            }
+            return new ArrayList<>(candidates);
+        });
+    }
+
+    /**
+     * Returns the path expected to list fewer tasks. A null path stands for no path at all.
+     *
+     * @param first  a path, or null
+     * @param second another path, or null
+     * @return the more selective of the two paths, or null if neither exists
+     */
+    static AccessPath cheaper(AccessPath first, AccessPath second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return second.estimatedSize < first.estimatedSize ? second : first;
+    }
+
+    /**
+     * Runs the lookup.
+     *
+     * @return the candidate tasks
+     */
+    List<? extends AbstractTask> lookup() {
+        return lookup.get();
+    }
+
+    int getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    boolean isInListOrder() {
+        return isInListOrder;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
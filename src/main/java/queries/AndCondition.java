@@ -0,0 +1,39 @@
+package queries;
+
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition met by the tasks that meet every one of its parts.
+ */
+class AndCondition implements Condition {
+    private final List<Condition> parts;
+
+    AndCondition(List<Condition> parts) {
+        this.parts = parts;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        for (Condition part : parts) {
+            if (!part.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the most selective access path among the parts, since every match must be listed by each of them.
+     */
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        AccessPath best = null;
+        for (Condition part : parts) {
+            best = AccessPath.cheaper(best, part.accessPath(tasks));
+        }
+        return best;
+    }
+}
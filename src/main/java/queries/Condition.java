@@ -0,0 +1,30 @@
+package queries;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition of a query, tested against one task at a time.
+ * A condition that an index of the TaskList can answer also offers an access path, which lists a
+ * superset of the tasks meeting it, so the planner can avoid visiting the tasks that cannot match.
+ */
+interface Condition {
+
+    /**
+     * Checks whether the task meets the condition.
+     *
+     * @param task the task to check
+     * @return true if the task meets the condition
+     */
+    boolean test(AbstractTask task);
+
+    /**
+     * Returns the cheapest index lookup listing every task that meets the condition.
+     *
+     * @param tasks the TaskList whose indexes are used
+     * @return the access path, or null if only a scan of the list can answer the condition
+     */
+    default AccessPath accessPath(TaskList tasks) {
+        return null;
+    }
+}
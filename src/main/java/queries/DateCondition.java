@@ -0,0 +1,68 @@
+package queries;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+
+/**
+ * A condition met by the deadlines due and the events starting within a range of days, bounds included.
+ * It is answered by the deadline and event date indexes.
+ */
+class DateCondition implements Condition {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a DateCondition.
+     *
+     * @param from the first day of the range, or LocalDate.MIN for a range open at the start
+     * @param to   the last day of the range, or LocalDate.MAX for a range open at the end
+     */
+    DateCondition(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the date a query sorts the task by: the due date of a deadline or the start date of an event.
+     *
+     * @param task the task
+     * @return the date of the task, or null if it has none
+     */
+    static LocalDate dateOf(AbstractTask task) {
+        if (task instanceof DeadlineTask deadlineTask) {
+            return deadlineTask.getBy();
+        } else if (task instanceof EventTask eventTask) {
+            return eventTask.getFrom();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        LocalDate date = dateOf(task);
+        return date != null && !date.isBefore(from) && !date.isAfter(to);
+    }
+
+    /**
+     * Returns the union of the deadlines and events in the range. The date indexes exclude both bounds,
+     * so the range is widened by a day on each side that is not open.
+     */
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        LocalDate after = from.equals(LocalDate.MIN) ? from : from.minusDays(1);
+        LocalDate before = to.equals(LocalDate.MAX) ? to : to.plusDays(1);
+        return new AccessPath("date " + from + ".." + to,
+                tasks.countDeadlinesBetween(after, before) + tasks.countEventsStartingBetween(after, before), false,
+                () -> {
+                    List<AbstractTask> candidates = new ArrayList<>(tasks.findDeadlinesBetween(after, before));
+                    candidates.addAll(tasks.findEventsStartingBetween(after, before));
+                    return candidates;
+                });
+    }
+}
@@ -0,0 +1,44 @@
+package queries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition met by the tasks that meet at least one of its parts.
+ */
+class OrCondition implements Condition {
+    private final List<Condition> parts;
+
+    OrCondition(List<Condition> parts) {
+        this.parts = parts;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        for (Condition part : parts) {
+            if (part.test(task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the union of the access paths of the parts, or null if any part can only be answered by a scan.
+     */
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        List<AccessPath> paths = new ArrayList<>();
+        for (Condition part : parts) {
+            AccessPath path = part.accessPath(tasks);
+            if (path == null) {
+                return null;
+            }
+            paths.add(path);
+        }
+        return AccessPath.union(paths);
+    }
+}
@@ -0,0 +1,71 @@
+package queries;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A compiled query: a condition, an optional order and an optional limit on the number of results.
+ * Running the query is a pipeline: the planner picks the access path that lists the fewest candidates,
+ * the candidates are filtered by the condition, and the matches are sorted and cut to the limit.
+ */
+public class Query {
+    private final Condition condition;
+    private final Comparator<AbstractTask> order;
+    private final int limit;
+
+    /**
+     * Constructs a Query.
+     *
+     * @param condition the condition every result meets
+     * @param order     the order of the results, or null to keep them in list order
+     * @param limit     the largest number of results to return
+     */
+    Query(Condition condition, Comparator<AbstractTask> order, int limit) {
+        this.condition = condition;
+        this.order = order;
+        this.limit = limit;
+    }
+
+    /**
+     * Runs the query against the task list.
+     * When the results are wanted in list order and the chosen path already lists them that way,
+     * the filter stops as soon as the limit is reached.
+     *
+     * @param tasks the TaskList to query
+     * @return the matching tasks
+     */
+    public List<AbstractTask> run(TaskList tasks) {
+        AccessPath path = QueryPlanner.plan(condition, tasks);
+        boolean canStopEarly = order == null && path.isInListOrder();
+        List<AbstractTask> found = new ArrayList<>();
+        for (AbstractTask task : path.lookup()) {
+            if (canStopEarly && found.size() == limit) {
+                break;
+            }
+            if (condition.test(task)) {
+                found.add(task);
+            }
+        }
+        if (!path.isInListOrder()) {
+            found.sort(Comparator.comparingInt(tasks::indexOf));
+        }
+        if (order != null) {
+            found.sort(order);
+        }
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Returns a short description of how the query would find its candidates in the task list.
+     *
+     * @param tasks the TaskList to query
+     * @return the name of the chosen access path, such as "scan" or "tag #work"
+     */
+    public String explain(TaskList tasks) {
+        return QueryPlanner.plan(condition, tasks).toString();
+    }
+}
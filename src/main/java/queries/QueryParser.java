@@ -0,0 +1,199 @@
+package queries;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import exceptions.ZephyrException;
+import tasks.AbstractTask;
+
+/**
+ * A parser that compiles the text of a query into a Query.
+ * The grammar is small:
+ * <pre>
+ * query     := [or-expr] [sort:date | sort:description] [limit:number]
+ * or-expr   := and-expr ("or" and-expr)*
+ * and-expr  := not-expr (["and"] not-expr)*
+ * not-expr  := "not" not-expr | "(" or-expr ")" | predicate
+ * predicate := type:todo | type:deadline | type:event | done | undone | #tag | tag:tag
+ *            | date:from..to | word
+ * </pre>
+ * Dates are written as yyyy-mm-dd, and either end of a date range may be left out to leave it open.
+ * Keywords are matched case-insensitively, and a bare word matches descriptions containing that word.
+ */
+public class QueryParser {
+    private static final String TYPE_PREFIX = "type:";
+    private static final String TAG_PREFIX = "tag:";
+    private static final String HASH_PREFIX = "#";
+    private static final String DATE_PREFIX = "date:";
+    private static final String SORT_PREFIX = "sort:";
+    private static final String LIMIT_PREFIX = "limit:";
+    private static final String RANGE_SEPARATOR = "..";
+    private static final List<String> TASK_TYPES = List.of("todo", "deadline", "event");
+
+    private final List<String> tokens = new ArrayList<>();
+    private Comparator<AbstractTask> order;
+    private int limit = Integer.MAX_VALUE;
+    private int position;
+
+    /**
+     * Constructs a QueryParser over the text of a query.
+     * The sort and limit clauses are taken out of the text here, so the rest is only conditions.
+     *
+     * @param text the text of the query
+     * @throws ZephyrException if a sort or limit clause is invalid
+     */
+    public QueryParser(String text) throws ZephyrException {
+        String spaced = text.replace("(", " ( ").replace(")", " ) ").trim();
+        for (String token : spaced.isEmpty() ? new String[0] : spaced.split("\\s+")) {
+            String lowerToken = token.toLowerCase(Locale.ROOT);
+            if (lowerToken.startsWith(SORT_PREFIX)) {
+                order = parseOrder(lowerToken.substring(SORT_PREFIX.length()));
+            } else if (lowerToken.startsWith(LIMIT_PREFIX)) {
+                limit = parseLimit(lowerToken.substring(LIMIT_PREFIX.length()));
+            } else {
+                tokens.add(token);
+            }
+        }
+    }
+
+    /**
+     * Compiles the query. A query without any conditions matches every task.
+     *
+     * @return the compiled Query
+     * @throws ZephyrException if the query does not follow the grammar
+     */
+    public Query parse() throws ZephyrException {
+        position = 0;
+        Condition condition = tokens.isEmpty() ? task -> true : parseOr();
+        if (position < tokens.size()) {
+            throw new ZephyrException("I did not expect '" + tokens.get(position) + "' in thy query.");
+        }
+        return new Query(condition, order, limit);
+    }
+
+    private Condition parseOr() {
+        List<Condition> parts = new ArrayList<>();
+        parts.add(parseAnd());
+        while (acceptKeyword("or")) {
+            parts.add(parseAnd());
+        }
+        return parts.size() == 1 ? parts.get(0) : new OrCondition(parts);
+    }
+
+    private Condition parseAnd() {
+        List<Condition> parts = new ArrayList<>();
+        parts.add(parseNot());
+        while (position < tokens.size() && !isKeyword("or") && !tokens.get(position).equals(")")) {
+            acceptKeyword("and");
+            parts.add(parseNot());
+        }
+        return parts.size() == 1 ? parts.get(0) : new AndCondition(parts);
+    }
+
+    private Condition parseNot() {
+        if (position == tokens.size()) {
+            throw new ZephyrException("Thy query ends where a condition was expected.");
+        }
+        if (acceptKeyword("not")) {
+            Condition negated = parseNot();
+            return task -> !negated.test(task);
+        }
+        if (tokens.get(position).equals("(")) {
+            position++;
+            Condition grouped = parseOr();
+            if (position == tokens.size() || !tokens.get(position).equals(")")) {
+                throw new ZephyrException("Every '(' in thy query must be closed by a ')'.");
+            }
+            position++;
+            return grouped;
+        }
+        return parsePredicate(tokens.get(position++));
+    }
+
+    private Condition parsePredicate(String token) {
+        String lowerToken = token.toLowerCase(Locale.ROOT);
+        if (lowerToken.equals("done")) {
+            return AbstractTask::isDone;
+        } else if (lowerToken.equals("undone")) {
+            return task -> !task.isDone();
+        } else if (lowerToken.startsWith(TYPE_PREFIX)) {
+            String taskType = lowerToken.substring(TYPE_PREFIX.length());
+            if (!TASK_TYPES.contains(taskType)) {
+                throw new ZephyrException("Please query a valid task type (todo, deadline or event).");
+            }
+            return new TypeCondition(taskType);
+        } else if (lowerToken.startsWith(HASH_PREFIX) || lowerToken.startsWith(TAG_PREFIX)) {
+            int prefixLength = lowerToken.startsWith(HASH_PREFIX) ? HASH_PREFIX.length() : TAG_PREFIX.length();
+            String tag = token.substring(prefixLength);
+            if (tag.isEmpty()) {
+                throw new ZephyrException("Please enter a tag after '" + token + "'.");
+            }
+            return new TagCondition(tag);
+        } else if (lowerToken.startsWith(DATE_PREFIX)) {
+            return parseDateRange(lowerToken.substring(DATE_PREFIX.length()));
+        } else if (lowerToken.equals(")")) {
+            throw new ZephyrException("I did not expect ')' in thy query.");
+        }
+        return new WordCondition(lowerToken);
+    }
+
+    private static Condition parseDateRange(String range) {
+        int separator = range.indexOf(RANGE_SEPARATOR);
+        if (separator == -1) {
+            throw new ZephyrException("A date range must look like date:2025-02-07..2025-02-14.");
+        }
+        LocalDate from = parseDate(range.substring(0, separator), LocalDate.MIN);
+        LocalDate to = parseDate(range.substring(separator + RANGE_SEPARATOR.length()), LocalDate.MAX);
+        if (from.isAfter(to)) {
+            throw new ZephyrException("The start of a date range cannot be after its end.");
+        }
+        return new DateCondition(from, to);
+    }
+
+    private static LocalDate parseDate(String date, LocalDate openEnd) {
+        if (date.isEmpty()) {
+            return openEnd;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new ZephyrException("Please enter the dates of a date range as yyyy-mm-dd.");
+        }
+    }
+
+    private static Comparator<AbstractTask> parseOrder(String key) {
+        return switch (key) {
+        case "date" -> Comparator.comparing(DateCondition::dateOf, Comparator.nullsLast(Comparator.naturalOrder()));
+        case "description" -> Comparator.comparing(AbstractTask::getDescription, String.CASE_INSENSITIVE_ORDER);
+        default -> throw new ZephyrException("Thou can only sort by date or description.");
+        };
+    }
+
+    private static int parseLimit(String number) {
+        try {
+            int limit = Integer.parseInt(number);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, along with limits that are not positive.
+        }
+        throw new ZephyrException("Please enter a positive number after limit:.");
+    }
+
+    private boolean isKeyword(String keyword) {
+        return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (!isKeyword(keyword)) {
+            return false;
+        }
+        position++;
+        return true;
+    }
+}
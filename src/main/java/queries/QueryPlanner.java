@@ -0,0 +1,32 @@
+package queries;
+
+import datastructures.TaskList;
+
+/**
+ * Chooses how a query finds its candidate tasks.
+ * Each condition offers the cheapest index lookup it can answer: a conjunction offers the most selective
+ * lookup of its parts, and a disjunction offers the union of the lookups of its parts if every part has one.
+ * The planner then weighs that lookup against a scan of the whole list, and keeps whichever is expected to
+ * visit fewer tasks.
+ */
+class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Returns the access path expected to visit the fewest tasks while still listing every match.
+     *
+     * @param condition the condition of the query
+     * @param tasks     the TaskList to query
+     * @return the chosen access path
+     */
+    static AccessPath plan(Condition condition, TaskList tasks) {
+        AccessPath scan = AccessPath.scan(tasks, condition);
+        AccessPath indexed = condition.accessPath(tasks);
+        if (indexed == null || indexed.getEstimatedSize() >= scan.getEstimatedSize()) {
+            return scan;
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,28 @@
+package queries;
+
+import java.util.List;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition met by the tasks carrying a tag, answered by the tag index.
+ */
+class TagCondition implements Condition {
+    private final String tag;
+
+    TagCondition(String tag) {
+        this.tag = tag;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        return task.getTags().contains(tag);
+    }
+
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        return new AccessPath("tag #" + tag, tasks.countTasksWithTag(tag), true,
+                () -> tasks.findTasksByTags(List.of(List.of(tag)), List.of()));
+    }
+}
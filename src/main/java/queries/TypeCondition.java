@@ -0,0 +1,34 @@
+package queries;
+
+import java.time.LocalDate;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition met by the tasks of one type. Every deadline and every event is held in a date index,
+ * so those two types are answered by listing the whole of their index.
+ */
+class TypeCondition implements Condition {
+    private final String taskType;
+
+    TypeCondition(String taskType) {
+        this.taskType = taskType;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        return task.getTaskType().equals(taskType);
+    }
+
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        return switch (taskType) {
+        case "deadline" -> new AccessPath("type deadline", tasks.countDeadlinesBetween(LocalDate.MIN, LocalDate.MAX),
+                false, () -> tasks.findDeadlinesBetween(LocalDate.MIN, LocalDate.MAX));
+        case "event" -> new AccessPath("type event", tasks.countEventsStartingBetween(LocalDate.MIN, LocalDate.MAX),
+                false, () -> tasks.findEventsStartingBetween(LocalDate.MIN, LocalDate.MAX));
+        default -> null;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package queries;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+
+/**
+ * A condition met by the tasks whose descriptions contain a word, answered by the keyword index.
+ */
+class WordCondition implements Condition {
+    private final String word;
+
+    WordCondition(String word) {
+        this.word = word;
+    }
+
+    @Override
+    public boolean test(AbstractTask task) {
+        return TaskList.hasWords(task.getDescription(), word);
+    }
+
+    @Override
+    public AccessPath accessPath(TaskList tasks) {
+        return new AccessPath("word " + word, tasks.countTasksWithWords(word), true,
+                () -> tasks.findTasksByWords(word));
+    }
+}
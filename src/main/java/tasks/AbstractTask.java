@@ -3,6 +3,7 @@ package tasks;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import helpers.StandardDateTime;
@@ -11,14 +12,22 @@ import helpers.StandardDateTime;
  * An abstract representation of a task.
  * This class holds a description and a completion status.
  * Subclasses must implement methods to provide task-specific details.
+ * Both renderings of a task are kept once built, and only rebuilt after the task changes.
  */
 public abstract class AbstractTask {
     protected String description;
     protected boolean isDone;
     protected ArrayList<String> tags;
+    private boolean isDirty;
+    private long fileOffset;
+    private int fileLength;
+    private TaskChangeListener changeListener;
+    private String displayString;
+    private String markdownString;
 
     /**
      * Constructs an AbstractTask with the given description.
+     * A new task is dirty until it has been written to the storage file.
      *
      * @param description the description of the task
      */
@@ -26,6 +35,8 @@ public abstract class AbstractTask {
         this.description = description;
         this.isDone = false;
         this.tags = new ArrayList<>();
+        this.isDirty = true;
+        this.fileOffset = -1;
     }
 
     /**
@@ -45,11 +56,21 @@ public abstract class AbstractTask {
         return (isDone ? "X" : " ");
     }
 
+    /**
+     * Returns whether the task is done.
+     *
+     * @return true if the task is done, false otherwise
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
     /**
      * Marks the task as done.
      */
     public void markAsDone() {
         this.isDone = true;
+        markDirty();
     }
 
     /**
@@ -57,6 +78,91 @@ public abstract class AbstractTask {
      */
     public void markAsUndone() {
         this.isDone = false;
+        markDirty();
+    }
+
+    /**
+     * Puts the status and tags of the task back to an earlier state, as when a change to it is undone.
+     *
+     * @param isDone whether the task is done
+     * @param tags   the tags of the task, in the order they were added
+     */
+    public void restoreStatus(boolean isDone, List<String> tags) {
+        this.isDone = isDone;
+        this.tags.clear();
+        this.tags.addAll(tags);
+        markDirty();
+    }
+
+    /**
+     * Flags the task as changed since it was last written, drops its cached renderings,
+     * and notifies the change listener.
+     */
+    protected void markDirty() {
+        this.isDirty = true;
+        this.displayString = null;
+        this.markdownString = null;
+        if (this.changeListener != null) {
+            this.changeListener.onTaskChanged(this);
+        }
+    }
+
+    /**
+     * Returns whether the task has changed since it was last written to the storage file.
+     *
+     * @return true if the task is dirty, false otherwise
+     */
+    public boolean isDirty() {
+        return this.isDirty;
+    }
+
+    /**
+     * Sets the listener notified whenever the task changes.
+     *
+     * @param changeListener the listener, or null to stop notifying
+     */
+    public void setChangeListener(TaskChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Records where the markdown line of the task sits in the storage file, and clears the dirty flag.
+     *
+     * @param fileOffset the byte offset of the line in the file
+     * @param fileLength the length of the line in bytes, excluding the line terminator
+     */
+    public void setFileLocation(long fileOffset, int fileLength) {
+        this.fileOffset = fileOffset;
+        this.fileLength = fileLength;
+        this.isDirty = false;
+    }
+
+    /**
+     * Forgets where the markdown line of the task sat in the storage file, once that line is gone,
+     * so that the task is written out again as a new line.
+     */
+    public void clearFileLocation() {
+        this.fileOffset = -1;
+        this.fileLength = 0;
+        this.isDirty = true;
+    }
+
+    /**
+     * Returns the byte offset of the markdown line of the task in the storage file.
+     *
+     * @return the byte offset, or -1 if the task has not been written to the file
+     */
+    public long getFileOffset() {
+        return this.fileOffset;
+    }
+
+    /**
+     * Returns the length in bytes of the markdown line of the task in the storage file.
+     *
+     * @return the length of the line, excluding the line terminator
+     */
+    public int getFileLength() {
+        return this.fileLength;
     }
 
     /**
@@ -84,6 +190,16 @@ public abstract class AbstractTask {
      */
     public void addTags(String ...tags) {
         this.tags.addAll(List.of(tags));
+        markDirty();
+    }
+
+    /**
+     * Returns the tags of the task.
+     *
+     * @return a read-only List of the tags, in the order they were added
+     */
+    public List<String> getTags() {
+        return Collections.unmodifiableList(this.tags);
     }
 
     /**
@@ -128,13 +244,27 @@ public abstract class AbstractTask {
     }
 
     /**
-     * Returns a String representation of the task.
-     * The format includes the status icon and the description.
+     * Returns a String representation of the task, rendered once and reused until the task changes.
      *
      * @return the String representation of the task
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        String rendered = this.displayString;
+        if (rendered == null) {
+            rendered = this.renderDisplayString();
+            this.displayString = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders the String representation of the task.
+     * The format includes the status icon and the description.
+     *
+     * @return the String representation of the task
+     */
+    protected String renderDisplayString() {
         return this.toStringInternal();
     }
 
@@ -149,10 +279,24 @@ public abstract class AbstractTask {
         return content.trim();
     }
 
+    /**
+     * Returns the markdown-formatted string of the task, rendered once and reused until the task changes.
+     *
+     * @return the markdown string representation of the task
+     */
+    public final String toMarkdownString() {
+        String rendered = this.markdownString;
+        if (rendered == null) {
+            rendered = this.renderMarkdownString();
+            this.markdownString = rendered;
+        }
+        return rendered;
+    }
+
     /**
      * Converts the task to a markdown-formatted string.
      *
      * @return the markdown string representation of the task
      */
-    public abstract String toMarkdownString();
+    protected abstract String renderMarkdownString();
 }
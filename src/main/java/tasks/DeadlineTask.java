@@ -4,12 +4,14 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
 import helpers.StandardDateTime;
+import helpers.TextSlices;
 
 /**
  * Represents a task with a deadline.
  * The deadline is specified by a date.
  */
 public class DeadlineTask extends AbstractTask {
+    private static final String BY_SEPARATOR = " (by: ";
     protected LocalDate by;
 
     /**
@@ -24,13 +26,13 @@ public class DeadlineTask extends AbstractTask {
     }
 
     /**
-     * Returns a String representation of the deadline task.
+     * Renders the String representation of the deadline task.
      * The format includes the task type indicator, status, description, and deadline.
      *
      * @return the String representation of the deadline task
      */
     @Override
-    public String toString() {
+    protected String renderDisplayString() {
         return super.toStringInternal("[D]", "(by: "
                 + StandardDateTime.dateToString(this.getBy()) + ")");
     }
@@ -70,7 +72,8 @@ public class DeadlineTask extends AbstractTask {
      *
      * @return the markdown string representation of the deadline task
      */
-    public String toMarkdownString() {
+    @Override
+    protected String renderMarkdownString() {
         return this.toMarkdownStringInternal(this.description + " (by: "
                 + StandardDateTime.dateToString(this.getBy()) + ")");
     }
@@ -82,15 +85,30 @@ public class DeadlineTask extends AbstractTask {
      * @return a DeadlineTask object if parsing is successful, or null if the string is not valid
      */
     public static DeadlineTask parseString(String partialString) {
-        String[] details = partialString.split(" \\(by: ", 2);
-        if (details.length < 2) {
+        return parseString(partialString, 0, partialString.length());
+    }
+
+    /**
+     * Parses a slice of text into a DeadlineTask object, without copying anything but the description.
+     *
+     * @param text  the text holding the markdown string after the "- [ ] D: " part
+     * @param start the index of the first character of the slice
+     * @param end   the index after the last character of the slice
+     * @return a DeadlineTask object if parsing is successful, or null if the slice is not valid
+     */
+    public static DeadlineTask parseString(CharSequence text, int start, int end) {
+        int separator = TextSlices.indexOf(text, BY_SEPARATOR, start, end);
+        if (separator == -1) {
+            return null;
+        }
+        int dateStart = separator + BY_SEPARATOR.length();
+        int dateEnd = end - 1;
+        if (dateEnd < dateStart) {
             return null;
         }
-        String description = details[0];
-        String by = details[1].substring(0, details[1].length() - 1);
         try {
-            LocalDate byDate = StandardDateTime.parseDateString(by);
-            return new DeadlineTask(description, byDate);
+            LocalDate byDate = StandardDateTime.parseDate(text, dateStart, dateEnd);
+            return new DeadlineTask(text.subSequence(start, separator).toString(), byDate);
         } catch (DateTimeParseException e) {
             return null;
         }
@@ -4,11 +4,14 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
 import helpers.StandardDateTime;
+import helpers.TextSlices;
 
 /**
  * Represents an event task with a start and end date.
  */
 public class EventTask extends AbstractTask {
+    private static final String FROM_SEPARATOR = " (from: ";
+    private static final String TO_SEPARATOR = " to: ";
     protected LocalDate from;
     protected LocalDate to;
 
@@ -26,13 +29,13 @@ public class EventTask extends AbstractTask {
     }
 
     /**
-     * Returns a String representation of the event task.
+     * Renders the String representation of the event task.
      * The format includes the task type indicator, status, description, start, and end dates.
      *
      * @return the String representation of the event task
      */
     @Override
-    public String toString() {
+    protected String renderDisplayString() {
         return this.toStringInternal("[E]",
                 "(from: " + StandardDateTime.dateToString(this.getFrom()) + " to: "
                         + StandardDateTime.dateToString(this.getTo()) + ")");
@@ -83,7 +86,7 @@ public class EventTask extends AbstractTask {
      * @return the markdown string representation of the event task
      */
     @Override
-    public String toMarkdownString() {
+    protected String renderMarkdownString() {
         return this.toMarkdownStringInternal(this.description
                 + " (from: "
                 + StandardDateTime.dateToString(this.getFrom()) + " to: "
@@ -98,24 +101,35 @@ public class EventTask extends AbstractTask {
      * @return an EventTask object if parsing is successful, or null if parsing fails
      */
     public static EventTask parseString(String partialString) {
-        String[] details = partialString.split(" \\(from: ", 2);
-        if (details.length < 2) {
+        return parseString(partialString, 0, partialString.length());
+    }
+
+    /**
+     * Parses a slice of text into an EventTask object, without copying anything but the description.
+     *
+     * @param text  the text holding the markdown string after the "- [ ] E: " part
+     * @param start the index of the first character of the slice
+     * @param end   the index after the last character of the slice
+     * @return an EventTask object if parsing is successful, or null if parsing fails
+     */
+    public static EventTask parseString(CharSequence text, int start, int end) {
+        int fromSeparator = TextSlices.indexOf(text, FROM_SEPARATOR, start, end);
+        if (fromSeparator == -1) {
+            return null;
+        }
+        int fromStart = fromSeparator + FROM_SEPARATOR.length();
+        int toSeparator = TextSlices.indexOf(text, TO_SEPARATOR, fromStart, end);
+        if (toSeparator == -1) {
             return null;
         }
-        String description = details[0];
-        String[] fromTo = details[1].split(" to: ", 2);
-        if (fromTo.length < 2) {
+        int toStart = toSeparator + TO_SEPARATOR.length();
+        if (end <= toStart || text.charAt(end - 1) != ')') {
             return null;
         }
         try {
-            String from = fromTo[0];
-            if (!fromTo[1].endsWith(")")) {
-                return null;
-            }
-            LocalDate fromDate = StandardDateTime.parseDateString(from);
-            String to = fromTo[1].substring(0, fromTo[1].length() - 1);
-            LocalDate toDate = StandardDateTime.parseDateString(to);
-            return new EventTask(description, fromDate, toDate);
+            LocalDate fromDate = StandardDateTime.parseDate(text, fromStart, toSeparator);
+            LocalDate toDate = StandardDateTime.parseDate(text, toStart, end - 1);
+            return new EventTask(text.subSequence(start, fromSeparator).toString(), fromDate, toDate);
         } catch (DateTimeParseException e) {
             return null;
         }
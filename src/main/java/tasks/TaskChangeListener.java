@@ -0,0 +1,13 @@
+package tasks;
+
+/**
+ * A listener notified whenever a task is changed after it was created.
+ */
+public interface TaskChangeListener {
+    /**
+     * Called after the task has been changed.
+     *
+     * @param task the task that was changed
+     */
+    void onTaskChanged(AbstractTask task);
+}
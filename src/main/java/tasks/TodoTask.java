@@ -14,13 +14,13 @@ public class TodoTask extends AbstractTask {
     }
 
     /**
-     * Returns a String representation of the todo task.
+     * Renders the String representation of the todo task.
      * The format includes the task type indicator and the task details.
      *
      * @return the String representation of the todo task
      */
     @Override
-    public String toString() {
+    protected String renderDisplayString() {
         return super.toStringInternal("[T]");
     }
 
@@ -51,7 +51,7 @@ public class TodoTask extends AbstractTask {
      * @return the markdown string representation of the todo task
      */
     @Override
-    public String toMarkdownString() {
+    protected String renderMarkdownString() {
         return this.toMarkdownStringInternal(this.description);
     }
 
@@ -64,4 +64,16 @@ public class TodoTask extends AbstractTask {
     public static TodoTask parseString(String partialString) {
         return new TodoTask(partialString);
     }
+
+    /**
+     * Parses a slice of text into a TodoTask object.
+     *
+     * @param text  the text holding the markdown string after the "- [ ] T: " part
+     * @param start the index of the first character of the slice
+     * @param end   the index after the last character of the slice
+     * @return a TodoTask object created from the slice
+     */
+    public static TodoTask parseString(CharSequence text, int start, int end) {
+        return new TodoTask(text.subSequence(start, end).toString());
+    }
 }
@@ -0,0 +1,152 @@
+package controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+import tasks.TodoTask;
+
+public class SegmentedLogStorageTest {
+    @TempDir
+    Path directory;
+
+    private String logPath() {
+        return directory.resolve("tasks.log").toString();
+    }
+
+    private int segmentCount() {
+        return new File(logPath()).listFiles((dir, name) -> name.endsWith(".log")).length;
+    }
+
+    /**
+     * Tests that the log rolls into new segments, and that a checkpoint folds them into one.
+     */
+    @Test
+    public void testRollAndCheckpoint() throws IOException {
+        SegmentedLogStorage storage = new SegmentedLogStorage(logPath(), 100);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 10; i++) {
+            AbstractTask task = new TodoTask("task " + i);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        tasks.getTask(3).markAsDone();
+        storage.journalMark(tasks, 3, true);
+        tasks.deleteTask(0);
+        storage.journalDelete(tasks, 0);
+        assertEquals(3, segmentCount());
+
+        List<AbstractTask> loaded = new SegmentedLogStorage(logPath(), 100).loadFile();
+        assertEquals(9, loaded.size());
+        assertEquals("- [X] T: task 3", loaded.get(2).toMarkdownString());
+
+        storage.saveChanges(tasks);
+        assertEquals(1, segmentCount());
+        loaded = new SegmentedLogStorage(logPath(), 100).loadFile();
+        assertEquals(9, loaded.size());
+        assertEquals("- [X] T: task 3", loaded.get(2).toMarkdownString());
+    }
+
+    /**
+     * Tests that a torn record is ignored, and that later records go to a new segment.
+     */
+    @Test
+    public void testTornRecordIgnored() throws IOException {
+        SegmentedLogStorage storage = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        AbstractTask task = new TodoTask("read book");
+        tasks.addTask(task);
+        storage.journalAdd(tasks, task);
+        Files.writeString(Path.of(logPath(), "segment-000001.log"), "2 A - [ ] T: ret",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        SegmentedLogStorage restarted = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT);
+        TaskList reloaded = new TaskList(restarted.loadFile());
+        assertEquals(1, reloaded.getSize());
+        AbstractTask next = new TodoTask("write essay");
+        reloaded.addTask(next);
+        restarted.journalAdd(reloaded, next);
+
+        List<AbstractTask> loaded = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT)
+                .loadFile();
+        assertEquals(2, loaded.size());
+        assertEquals("- [ ] T: write essay", loaded.get(1).toMarkdownString());
+    }
+
+    /**
+     * Tests that the in-memory backend keeps the tasks between loads.
+     */
+    @Test
+    public void testInMemoryStorage() throws IOException {
+        InMemoryStorage storage = new InMemoryStorage();
+        TaskList tasks = new TaskList(storage.loadFile());
+        AbstractTask task = new TodoTask("read book");
+        tasks.addTask(task);
+        storage.journalAdd(tasks, task);
+        task.addTags("fun");
+        storage.journalTag(tasks, 0, "fun");
+        assertEquals("- [ ] T: read book #tags fun", storage.loadFile().get(0).toMarkdownString());
+    }
+
+    /**
+     * Tests that undone and redone commands stay that way after a restart, recorded as records rather than
+     * as a checkpoint of every task.
+     */
+    @Test
+    public void testUndoSurvivesRestart() throws IOException {
+        SegmentedLogStorage storage = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        Parser parser = new Parser();
+        Ui ui = new Ui();
+        for (String command : List.of("todo read book", "todo write essay", "tag 2 fun", "mark 2", "delete 1",
+                "undo", "undo", "redo")) {
+            parser.parse(command).execute(tasks, ui, storage);
+            tasks.checkpoint();
+        }
+
+        List<AbstractTask> loaded = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT)
+                .loadFile();
+        assertEquals(2, loaded.size());
+        assertEquals("- [ ] T: read book", loaded.get(0).toMarkdownString());
+        assertEquals("- [X] T: write essay #tags fun", loaded.get(1).toMarkdownString());
+        assertEquals(1, segmentCount());
+        for (String line : Files.readAllLines(Path.of(logPath(), "segment-000001.log"), StandardCharsets.UTF_8)) {
+            assertFalse(line.contains(" C "), "Undo and redo should not checkpoint the log.");
+        }
+    }
+
+    /**
+     * Tests that a batch writes nothing to the log while its commands run, and everything on commit.
+     */
+    @Test
+    public void testBatchCommit() throws IOException {
+        SegmentedLogStorage storage = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        BatchStorage batchStorage = new BatchStorage(storage);
+        Parser parser = new Parser();
+        Ui ui = new Ui();
+        for (String command : List.of("todo read book", "todo write essay", "mark 2", "tag 1 fun", "delete 1")) {
+            parser.parse(command).execute(tasks, ui, batchStorage);
+        }
+        assertEquals(0, storage.loadFile().size());
+
+        batchStorage.commit(tasks);
+        List<AbstractTask> loaded = new SegmentedLogStorage(logPath(), SegmentedLogStorage.DEFAULT_SEGMENT_LIMIT)
+                .loadFile();
+        assertEquals(1, loaded.size());
+        assertEquals("- [X] T: write essay", loaded.get(0).toMarkdownString());
+        assertEquals(1, segmentCount());
+    }
+}
@@ -0,0 +1,565 @@
+package controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import datastructures.TaskList;
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+public class StorageTest {
+    @TempDir
+    Path directory;
+
+    private String filePath() {
+        return directory.resolve("tasks.md").toString();
+    }
+
+    /**
+     * Tests that every journaled mutation is replayed on the next load.
+     */
+    @Test
+    public void testJournalReplay() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (String description : new String[] {"read book", "write essay", "buy milk"}) {
+            AbstractTask task = new TodoTask(description);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        tasks.getTask(1).markAsDone();
+        storage.journalMark(tasks, 1, true);
+        tasks.getTask(2).addTags("home");
+        storage.journalTag(tasks, 2, "home");
+        tasks.deleteTask(0);
+        storage.journalDelete(tasks, 0);
+
+        assertFalse(new File(filePath()).exists(), "Mutations should only be appended to the journal.");
+
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        assertEquals(2, loaded.size());
+        assertEquals("- [X] T: write essay", loaded.get(0).toMarkdownString());
+        assertEquals("- [ ] T: buy milk #tags home", loaded.get(1).toMarkdownString());
+    }
+
+    /**
+     * Tests that an undone delete is written back to the file in its original place.
+     */
+    @Test
+    public void testUndoSaved() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (String description : new String[] {"read book", "write essay", "buy milk"}) {
+            AbstractTask task = new TodoTask(description);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        storage.saveChanges(tasks);
+        tasks.checkpoint();
+        tasks.deleteTask(1);
+        storage.journalDelete(tasks, 1);
+        tasks.checkpoint();
+
+        assertTrue(tasks.undo());
+        storage.saveChanges(tasks);
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        assertEquals(3, loaded.size());
+        assertEquals("write essay", loaded.get(1).getDescription());
+    }
+
+    /**
+     * Tests that undo and redo are journaled, and that a restart replays them over the file in list order.
+     */
+    @Test
+    public void testUndoJournaled() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 4; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        storage.saveChanges(tasks);
+        tasks.clearHistory();
+        tasks.getTask(2).addTags("home");
+        storage.journalTag(tasks, 2, "home");
+        tasks.checkpoint();
+        tasks.deleteTask(1);
+        storage.journalDelete(tasks, 1);
+        tasks.checkpoint();
+        storage.saveChanges(tasks);
+        tasks.getTask(0).markAsDone();
+        storage.journalMark(tasks, 0, true);
+        tasks.checkpoint();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tasks.undo());
+            storage.journalReplay(tasks, tasks.getReplayedChanges());
+        }
+        assertTrue(tasks.redo());
+        storage.journalReplay(tasks, tasks.getReplayedChanges());
+
+        Storage restarted = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList reloaded = new TaskList(restarted.loadFile());
+        assertEquals(4, reloaded.getSize());
+        assertEquals("- [ ] T: task 1", reloaded.getTask(1).toMarkdownString());
+        assertEquals("- [ ] T: task 2 #tags home", reloaded.getTask(2).toMarkdownString());
+        restarted.saveChanges(reloaded);
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(tasks.getTask(i).toMarkdownString(), loaded.get(i).toMarkdownString());
+        }
+    }
+
+    /**
+     * Tests that a task brought back by undo after its deletion was saved is written back in its place.
+     */
+    @Test
+    public void testUndoAfterSavedDelete() throws IOException {
+        Storage storage = new Storage(filePath());
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 20; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        storage.saveChanges(tasks);
+        tasks.checkpoint();
+        tasks.deleteTask(1);
+        tasks.checkpoint();
+        storage.saveChanges(tasks);
+
+        assertTrue(tasks.undo());
+        storage.saveAll(tasks);
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(filePath()), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                lines.add(line);
+            }
+        }
+        assertEquals(20, lines.size());
+        assertEquals("- [ ] T: task 1", lines.get(1));
+        assertEquals("- [ ] T: task 19", lines.get(19));
+    }
+
+    /**
+     * Tests that a save made of patches deletes the binary snapshot, and that the save at the end of the
+     * session writes one matching the patched file.
+     */
+    @Test
+    public void testPatchSaveInvalidatesBinarySnapshot() throws IOException {
+        Storage storage = new Storage(filePath());
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (String description : new String[] {"read book", "write essay", "buy milk"}) {
+            tasks.addTask(new TodoTask(description));
+        }
+        storage.saveChanges(tasks);
+        assertTrue(new File(filePath() + ".bin").exists());
+        tasks.getTask(1).markAsDone();
+        tasks.deleteTask(2);
+        storage.saveChanges(tasks);
+        assertFalse(new File(filePath() + ".bin").exists());
+        List<AbstractTask> loaded = new Storage(filePath()).loadFile();
+        assertEquals(2, loaded.size());
+        assertEquals("- [X] T: write essay", loaded.get(1).toMarkdownString());
+
+        storage.saveStartupSnapshot(tasks);
+        BinarySnapshot snapshot = BinarySnapshot.read(new File(filePath() + ".bin"), new File(filePath()));
+        assertNotNull(snapshot);
+        assertEquals(2, snapshot.getTasks().size());
+        assertEquals("- [X] T: write essay", snapshot.getTasks().get(1).toMarkdownString());
+    }
+
+    /**
+     * Tests that a torn final journal line, as left by a crash mid-write, is ignored.
+     */
+    @Test
+    public void testTornRecordIgnored() throws IOException {
+        Files.writeString(Path.of(filePath() + ".journal"),
+                "1 A - [ ] T: first\n2 A - [ ] T: sec", StandardCharsets.UTF_8);
+
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        assertEquals(1, loaded.size());
+        assertEquals("first", loaded.get(0).getDescription());
+    }
+
+    /**
+     * Tests that records already folded into a snapshot are not applied twice.
+     */
+    @Test
+    public void testCompactionKeepsState() throws IOException {
+        Storage storage = new Storage(filePath(), true, 64);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 20; i++) {
+            AbstractTask task = new TodoTask("task " + i);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        storage.saveFile(tasks.getTasks());
+        assertTrue(new File(filePath()).exists());
+        assertFalse(new File(filePath() + ".journal").exists());
+
+        List<AbstractTask> loaded = new Storage(filePath(), true, 64).loadFile();
+        assertEquals(20, loaded.size());
+        assertEquals("task 19", loaded.get(19).getDescription());
+    }
+
+    /**
+     * Tests that the journal size limit counts bytes, so non-ASCII descriptions trigger compaction on time.
+     */
+    @Test
+    public void testJournalLimitCountsBytes() throws IOException {
+        Storage storage = new Storage(filePath(), true, 160);
+        TaskList tasks = new TaskList(storage.loadFile());
+        AbstractTask task = new TodoTask("\u65e5".repeat(50));
+        tasks.addTask(task);
+        storage.journalAdd(tasks, task);
+        assertFalse(new File(filePath() + ".journal").exists());
+
+        storage.saveChanges(tasks);
+        List<AbstractTask> loaded = new Storage(filePath(), true, 160).loadFile();
+        assertEquals(1, loaded.size());
+        assertEquals("\u65e5".repeat(50), loaded.get(0).getDescription());
+    }
+
+    /**
+     * Tests that a failed compaction is reported, keeps its journal, and that the next save recovers every task.
+     */
+    @Test
+    public void testFailedCompactionKeepsJournal() throws IOException {
+        Storage storage = new Storage(filePath(), true, 64);
+        TaskList tasks = new TaskList(storage.loadFile());
+        Path blocker = Files.createDirectories(directory.resolve("tasks.md"));
+        Files.writeString(blocker.resolve("blocker"), "x");
+        for (int i = 0; i < 5; i++) {
+            AbstractTask task = new TodoTask("task " + i);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        assertThrows(IOException.class, () -> storage.saveChanges(tasks));
+        assertTrue(new File(filePath() + ".journal.old").exists());
+
+        Files.delete(blocker.resolve("blocker"));
+        Files.delete(blocker);
+        storage.saveChanges(tasks);
+        assertFalse(new File(filePath() + ".journal.old").exists());
+        List<AbstractTask> loaded = new Storage(filePath(), true, 64).loadFile();
+        assertEquals(5, loaded.size());
+        assertEquals("task 4", loaded.get(4).getDescription());
+    }
+
+    /**
+     * Tests that the parallel loader returns the same tasks, in the same order, as the sequential one.
+     */
+    @Test
+    public void testParallelLoadMatchesSequential() throws IOException {
+        StringBuilder content = new StringBuilder("<!-- zephyr:seq=0 -->\n");
+        for (int i = 0; i < 20000; i++) {
+            content.append(i % 2 == 0 ? "- [X] T: task " : "- [ ] D: deadline ").append(i);
+            content.append(i % 2 == 0 ? " #tags even\r\n" : " (by: 17 Feb 2025)\n");
+        }
+        Files.writeString(Path.of(filePath()), content.toString(), StandardCharsets.UTF_8);
+
+        Storage sequential = new Storage(filePath());
+        sequential.setParallelLoadThreshold(Long.MAX_VALUE);
+        Storage parallel = new Storage(filePath());
+        parallel.setParallelLoadThreshold(0);
+        List<AbstractTask> expected = sequential.loadFile();
+        List<AbstractTask> actual = parallel.loadFile();
+
+        assertEquals(20000, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toMarkdownString(), actual.get(i).toMarkdownString());
+        }
+    }
+
+    /**
+     * Tests that the binary snapshot round-trips every task type, and is ignored once the markdown changes.
+     */
+    @Test
+    public void testBinarySnapshot() throws IOException {
+        DeadlineTask deadline = new DeadlineTask("submit report", LocalDate.of(2025, 2, 17));
+        deadline.markAsDone();
+        EventTask event = new EventTask("conference", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
+        event.addTags("work", "travel");
+        List<AbstractTask> tasks = List.of(new TodoTask("read book"), deadline, event);
+        new Storage(filePath()).saveFile(tasks);
+        assertTrue(new File(filePath() + ".bin").exists());
+
+        List<AbstractTask> loaded = new Storage(filePath()).loadFile();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toMarkdownString(), loaded.get(i).toMarkdownString());
+        }
+
+        Files.writeString(Path.of(filePath()), "- [ ] T: edited by hand\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        loaded = new Storage(filePath()).loadFile();
+        assertEquals(4, loaded.size());
+        assertEquals("edited by hand", loaded.get(3).getDescription());
+    }
+
+    /**
+     * Tests that an incremental save patches the file in place, and that the result reloads correctly.
+     */
+    @Test
+    public void testSaveChangesPatchesInPlace() throws IOException {
+        List<AbstractTask> initial = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            initial.add(new TodoTask("task " + i));
+        }
+        new Storage(filePath()).saveFile(initial);
+
+        Storage storage = new Storage(filePath());
+        TaskList tasks = new TaskList(storage.loadFile());
+        tasks.getTask(3).markAsDone();
+        tasks.deleteTask(0);
+        tasks.addTask(new TodoTask("task 10"));
+        storage.saveChanges(tasks);
+
+        List<String> lines = Files.readAllLines(Path.of(filePath()), StandardCharsets.UTF_8);
+        assertEquals(11, lines.size());
+        assertTrue(lines.get(0).isBlank(), "A deleted line should be blanked out in place.");
+        assertEquals("- [X] T: task 3", lines.get(3));
+        assertEquals("- [ ] T: task 10", lines.get(10));
+
+        tasks.getTask(0).addTags("longer", "line");
+        storage.saveChanges(tasks);
+        List<AbstractTask> loaded = new Storage(filePath()).loadFile();
+        assertEquals(tasks.getSize(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(tasks.getTask(i).toMarkdownString(), loaded.get(i).toMarkdownString());
+        }
+    }
+
+    /**
+     * Tests that deletions replayed from the journal are blanked out by the next incremental save.
+     */
+    @Test
+    public void testSaveChangesAfterJournalReplay() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        storage.saveChanges(tasks);
+        tasks.deleteTask(1);
+        storage.journalDelete(tasks, 1);
+        tasks.getTask(1).markAsDone();
+        storage.journalMark(tasks, 1, true);
+
+        Storage restarted = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList reloaded = new TaskList(restarted.loadFile());
+        restarted.saveChanges(reloaded);
+        assertFalse(new File(filePath() + ".journal").exists());
+
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        assertEquals(4, loaded.size());
+        assertEquals("- [X] T: task 2", loaded.get(1).toMarkdownString());
+    }
+
+    /**
+     * Tests that records queued on the group-commit writer are durable once flushed.
+     */
+    @Test
+    public void testGroupCommitFlush() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        storage.setGroupCommit(1000, 1000);
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 50; i++) {
+            AbstractTask task = new TodoTask("task " + i);
+            tasks.addTask(task);
+            storage.journalAdd(tasks, task);
+        }
+        storage.flush();
+
+        List<String> journal = Files.readAllLines(Path.of(filePath() + ".journal"), StandardCharsets.UTF_8);
+        assertEquals(50, journal.size());
+        assertEquals(50, new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile().size());
+    }
+
+    /**
+     * Tests that a batch the group-commit writer fails to write does not stop later saves or appends.
+     */
+    @Test
+    public void testGroupCommitRecoversFromFailure() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        storage.setGroupCommit(1, 1);
+        TaskList tasks = new TaskList(storage.loadFile());
+        Path journal = Files.createDirectories(Path.of(filePath() + ".journal"));
+        AbstractTask lost = new TodoTask("lost record");
+        tasks.addTask(lost);
+        storage.journalAdd(tasks, lost);
+
+        storage.saveChanges(tasks);
+        assertFalse(Files.exists(journal));
+        AbstractTask next = new TodoTask("next record");
+        tasks.addTask(next);
+        storage.journalAdd(tasks, next);
+        storage.flush();
+
+        List<AbstractTask> loaded = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile();
+        assertEquals(2, loaded.size());
+        assertEquals("lost record", loaded.get(0).getDescription());
+        assertEquals("next record", loaded.get(1).getDescription());
+    }
+
+    /**
+     * Tests that the line decoder reads every task type, shares tags between tasks and rejects bad lines.
+     */
+    @Test
+    public void testParseLine() {
+        Storage storage = new Storage(filePath());
+        AbstractTask event = storage.parseLine(
+                "- [X] E: caf\u00e9 trip (from: 01 Mar 2025 to: 29 Feb 2028) #tags fun  work");
+        assertEquals("- [X] E: caf\u00e9 trip (from: 01 Mar 2025 to: 29 Feb 2028) #tags fun work",
+                event.toMarkdownString());
+        AbstractTask deadline = storage.parseLine("- [ ] D: essay (by: 07 Feb 2025) #tags work");
+        assertEquals(LocalDate.of(2025, 2, 7), ((DeadlineTask) deadline).getBy());
+        assertTrue(event.getTags().get(1) == deadline.getTags().get(0));
+
+        assertEquals(null, storage.parseLine("- [ ] D: essay (by: 07 Fbr 2025)"));
+        assertEquals(null, storage.parseLine("- [?] T: read"));
+        assertEquals(null, storage.parseLine("- [ ] Q: read"));
+        assertEquals(null, storage.parseLine("- [ ] T:"));
+    }
+
+    /**
+     * Tests that archived tasks leave the task list and the storage file, but can still be found,
+     * and that done todos are only archived when asked for.
+     */
+    @Test
+    public void testArchiveCompleted() throws IOException {
+        Storage storage = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        TaskList tasks = new TaskList(storage.loadFile());
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        tasks.addTask(new TodoTask("read old book"));
+        tasks.addTask(new DeadlineTask("return old book", today.minusDays(40)));
+        tasks.addTask(new DeadlineTask("return new book", today.minusDays(5)));
+        tasks.addTask(new EventTask("book fair", today.minusDays(50), today.minusDays(45)));
+        tasks.addTask(new TodoTask("write essay"));
+        for (int i = 0; i < 4; i++) {
+            tasks.getTask(i).markAsDone();
+        }
+        storage.saveChanges(tasks);
+
+        List<AbstractTask> archived = storage.archiveCompleted(tasks, today.minusDays(30), false);
+        assertEquals(2, archived.size());
+        assertEquals(3, tasks.getSize());
+
+        Storage restarted = new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT);
+        List<AbstractTask> loaded = restarted.loadFile();
+        assertEquals(3, loaded.size());
+        assertEquals("- [X] T: read old book", loaded.get(0).toMarkdownString());
+        assertEquals("- [X] D: return new book (by: 27 May 2025)", loaded.get(1).toMarkdownString());
+        List<AbstractTask> found = restarted.findArchived("old book");
+        assertEquals(1, found.size());
+        assertEquals("- [X] D: return old book (by: 22 Apr 2025)", found.get(0).toMarkdownString());
+        assertEquals(1, restarted.findArchived("fair").size());
+        assertEquals(0, restarted.findArchived("essay").size());
+
+        TaskList reloaded = new TaskList(loaded);
+        archived = restarted.archiveCompleted(reloaded, today.minusDays(30), true);
+        assertEquals(1, archived.size());
+        assertEquals(2, reloaded.getSize());
+        assertEquals(2, restarted.findArchived("old book").size());
+        assertEquals("return new book", new Storage(filePath(), true, Storage.DEFAULT_JOURNAL_LIMIT).loadFile()
+                .get(0).getDescription());
+    }
+
+    /**
+     * Tests that edits made to the file by another program are applied to the live task list,
+     * while writes made by the storage itself are not mistaken for them.
+     */
+    @Test
+    public void testReloadExternalChanges() throws IOException, InterruptedException {
+        Storage storage = new Storage(filePath());
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        storage.saveChanges(tasks);
+        AbstractTask first = tasks.getTask(0);
+        storage.watch(tasks);
+
+        tasks.getTask(4).markAsDone();
+        storage.saveChanges(tasks);
+        Thread.sleep(200);
+        assertFalse(storage.reloadExternalChanges(tasks));
+
+        List<String> lines = Files.readAllLines(Path.of(filePath()), StandardCharsets.UTF_8);
+        lines.set(1, "- [X] T: task 1 #tags edited");
+        lines.remove(3);
+        lines.add(2, "- [ ] T: inserted");
+        lines.add(3, "- [ ] T: also inserted");
+        lines.add(0, "- [ ] T: first line");
+        Files.write(Path.of(filePath()), lines, StandardCharsets.UTF_8);
+        boolean isReloaded = false;
+        for (int i = 0; i < 50 && !isReloaded; i++) {
+            Thread.sleep(100);
+            isReloaded = storage.reloadExternalChanges(tasks);
+        }
+        assertTrue(isReloaded);
+        assertEquals(7, tasks.getSize());
+        assertEquals("- [ ] T: first line", tasks.getTask(0).toMarkdownString());
+        assertTrue(first == tasks.getTask(1));
+        assertEquals("- [X] T: task 1 #tags edited", tasks.getTask(2).toMarkdownString());
+        assertEquals("- [ ] T: inserted", tasks.getTask(3).toMarkdownString());
+        assertEquals("- [ ] T: also inserted", tasks.getTask(4).toMarkdownString());
+        assertEquals("- [ ] T: task 2", tasks.getTask(5).toMarkdownString());
+        assertEquals("- [X] T: task 4", tasks.getTask(6).toMarkdownString());
+
+        storage.saveChanges(tasks);
+        assertEquals(7, new Storage(filePath()).loadFile().size());
+    }
+
+    /**
+     * Tests that undo after a reload neither reverts the edit made by hand nor an earlier step.
+     */
+    @Test
+    public void testUndoAfterReload() throws IOException, InterruptedException {
+        Storage storage = new Storage(filePath());
+        TaskList tasks = new TaskList(storage.loadFile());
+        for (int i = 0; i < 3; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        storage.saveChanges(tasks);
+        tasks.clearHistory();
+        storage.watch(tasks);
+        tasks.deleteTask(0);
+        storage.saveChanges(tasks);
+        tasks.checkpoint();
+        Thread.sleep(200);
+
+        Files.writeString(Path.of(filePath()), "- [ ] T: added by hand\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        boolean isReloaded = false;
+        for (int i = 0; i < 50 && !isReloaded; i++) {
+            Thread.sleep(100);
+            isReloaded = storage.reloadExternalChanges(tasks);
+        }
+        assertTrue(isReloaded);
+        assertEquals(3, tasks.getSize());
+
+        assertFalse(tasks.undo());
+        storage.saveChanges(tasks);
+        List<AbstractTask> loaded = new Storage(filePath()).loadFile();
+        assertEquals(3, loaded.size());
+        assertEquals("task 1", loaded.get(0).getDescription());
+        assertEquals("added by hand", loaded.get(2).getDescription());
+    }
+}
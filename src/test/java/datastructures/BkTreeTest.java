@@ -0,0 +1,52 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class BkTreeTest {
+
+    /**
+     * Tests that removed words are no longer found, while the words placed below them still are.
+     */
+    @Test
+    public void testRemove() {
+        BkTree tree = new BkTree();
+        for (String word : List.of("book", "books", "boo", "cook", "cake", "boon")) {
+            tree.add(word);
+        }
+        assertEquals(List.of("book"), tree.find("book", 1).get(0));
+        assertEquals(Set.of("books", "boo", "cook", "boon"), new HashSet<>(tree.find("book", 1).get(1)));
+
+        tree.remove("book");
+        tree.remove("missing");
+        assertEquals(5, tree.size());
+        assertEquals(List.of(), tree.find("book", 1).get(0));
+        assertEquals(Set.of("books", "boo", "cook", "boon"), new HashSet<>(tree.find("book", 1).get(1)));
+
+        tree.add("book");
+        assertEquals(6, tree.size());
+        assertEquals(List.of("book"), tree.find("book", 0).get(0));
+    }
+
+    /**
+     * Tests that the tree is rebuilt from the words left once most of its words are removed.
+     */
+    @Test
+    public void testRebuild() {
+        BkTree tree = new BkTree();
+        for (int i = 0; i < 100; i++) {
+            tree.add("word" + i);
+        }
+        for (int i = 0; i < 90; i++) {
+            tree.remove("word" + i);
+        }
+        assertEquals(10, tree.size());
+        assertEquals(List.of("word95"), tree.find("word95", 0).get(0));
+        assertEquals(10, tree.find("word", 2).get(2).size());
+    }
+}
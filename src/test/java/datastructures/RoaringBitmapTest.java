@@ -0,0 +1,48 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class RoaringBitmapTest {
+
+    /**
+     * Tests the set operations across sparse and dense containers, and across container boundaries.
+     */
+    @Test
+    public void testSetOperations() {
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap threes = new RoaringBitmap();
+        for (int i = 0; i < 20000; i++) {
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+            if (i % 3 == 0) {
+                threes.add(i);
+            }
+        }
+        threes.add(70000);
+        assertEquals(10000, evens.cardinality());
+
+        RoaringBitmap sixes = RoaringBitmap.and(evens, threes);
+        assertEquals(3334, sixes.cardinality());
+        assertTrue(sixes.contains(19998));
+        assertFalse(sixes.contains(70000));
+        assertEquals(10000 + 6667 + 1 - 3334, RoaringBitmap.or(evens, threes).cardinality());
+        assertEquals(10000 - 3334, RoaringBitmap.andNot(evens, threes).cardinality());
+
+        for (int i = 0; i < 20000; i += 2) {
+            if (i > 10) {
+                evens.remove(i);
+            }
+        }
+        List<Integer> values = new ArrayList<>();
+        evens.forEach(values::add);
+        assertEquals(List.of(0, 2, 4, 6, 8, 10), values);
+    }
+}
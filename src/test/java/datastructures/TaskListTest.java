@@ -0,0 +1,477 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+public class TaskListTest {
+
+    /**
+     * Tests that word queries match whole words only, require every word, and return tasks in list order,
+     * including after tasks are inserted in the middle and at the end.
+     */
+    @Test
+    public void testFindTasksByWords() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new TodoTask("Book club meeting"));
+        tasks.addTask(new TodoTask("return books"));
+        tasks.addTask(new TodoTask("book flights, then club"));
+        tasks.addTask(new TodoTask("club dinner"));
+
+        List<AbstractTask> found = tasks.findTasksByWords("club book");
+        assertEquals(2, found.size());
+        assertEquals("Book club meeting", found.get(0).getDescription());
+        assertEquals("book flights, then club", found.get(1).getDescription());
+        assertTrue(tasks.findTasksByWords("boo").isEmpty());
+
+        tasks.deleteTask(0);
+        Map<AbstractTask, List<AbstractTask>> insertions = new HashMap<>();
+        insertions.put(null, List.of(new TodoTask("club book swap")));
+        insertions.put(tasks.getTask(1), List.of(new TodoTask("book fair"), new TodoTask("club lunch")));
+        tasks.insertTasks(insertions);
+        assertEquals(6, tasks.getSize());
+        assertEquals("book fair", tasks.getTask(3).getDescription());
+        assertEquals("club lunch", tasks.getTask(4).getDescription());
+        found = tasks.findTasksByWords("BOOK");
+        assertEquals(3, found.size());
+        assertEquals("club book swap", found.get(0).getDescription());
+        assertEquals("book fair", found.get(2).getDescription());
+
+        tasks.insertTasks(Map.of(tasks.getTask(5), List.of(new TodoTask("book club"))));
+        found = tasks.findTasksByWords("club book");
+        assertEquals(3, found.size());
+        assertEquals("book club", found.get(2).getDescription());
+        assertEquals(6, tasks.indexOf(found.get(2)));
+    }
+
+    /**
+     * Tests that tag queries combine required groups, alternatives and exclusions, and follow later tag changes.
+     */
+    @Test
+    public void testFindTasksByTags() {
+        TaskList tasks = new TaskList();
+        AbstractTask report = new TodoTask("write report");
+        report.addTags("work", "urgent");
+        tasks.addTask(report);
+        AbstractTask groceries = new TodoTask("buy groceries");
+        groceries.addTags("errand");
+        tasks.addTask(groceries);
+        AbstractTask slides = new TodoTask("prepare slides");
+        slides.addTags("work");
+        tasks.addTask(slides);
+
+        assertEquals(List.of(report, slides), tasks.findTasksByTags(List.of(List.of("work")), List.of()));
+        assertEquals(List.of(report), tasks.findTasksByTags(List.of(List.of("work"), List.of("urgent")), List.of()));
+        assertEquals(List.of(report, groceries),
+                tasks.findTasksByTags(List.of(List.of("urgent", "errand")), List.of()));
+        assertEquals(List.of(groceries, slides), tasks.findTasksByTags(List.of(), List.of("urgent")));
+
+        slides.addTags("urgent");
+        assertEquals(List.of(report, slides),
+                tasks.findTasksByTags(List.of(List.of("work"), List.of("urgent")), List.of()));
+        tasks.deleteTask(0);
+        assertEquals(List.of(slides), tasks.findTasksByTags(List.of(List.of("urgent")), List.of()));
+        assertTrue(tasks.findTasksByTags(List.of(List.of("missing")), List.of()).isEmpty());
+    }
+
+    /**
+     * Tests that date range queries exclude both ends, order by date, and forget deleted tasks.
+     */
+    @Test
+    public void testFindByDateRange() {
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        TaskList tasks = new TaskList();
+        DeadlineTask essay = new DeadlineTask("essay", today.plusDays(5));
+        DeadlineTask quiz = new DeadlineTask("quiz", today.plusDays(2));
+        DeadlineTask overdue = new DeadlineTask("overdue", today);
+        EventTask trip = new EventTask("trip", today.plusDays(3), today.plusDays(9));
+        tasks.addTask(essay);
+        tasks.addTask(quiz);
+        tasks.addTask(overdue);
+        tasks.addTask(new TodoTask("read"));
+        tasks.addTask(trip);
+
+        assertEquals(List.of(essay, quiz), tasks.findDeadlinesBetween(today, today.plusDays(7)));
+        assertEquals(List.of(quiz), tasks.findDeadlinesBetween(today, today.plusDays(5)));
+        assertEquals(List.of(trip), tasks.findEventsStartingBetween(today, today.plusDays(7)));
+        assertTrue(tasks.findDeadlinesBetween(today, today.minusDays(1)).isEmpty());
+
+        tasks.deleteTask(1);
+        assertEquals(List.of(essay), tasks.findDeadlinesBetween(today, today.plusDays(7)));
+    }
+
+    /**
+     * Tests that overlap queries include touching ends, skip disjoint events, and forget deleted events.
+     */
+    @Test
+    public void testFindEventsOverlapping() {
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        TaskList tasks = new TaskList();
+        EventTask camp = new EventTask("camp", day, day.plusDays(10));
+        EventTask talk = new EventTask("talk", day.plusDays(4), day.plusDays(4));
+        EventTask trip = new EventTask("trip", day.plusDays(12), day.plusDays(15));
+        tasks.addTask(trip);
+        tasks.addTask(talk);
+        tasks.addTask(new TodoTask("read"));
+        tasks.addTask(camp);
+        for (int i = 0; i < 50; i++) {
+            tasks.addTask(new EventTask("later " + i, day.plusDays(100 + i), day.plusDays(101 + i)));
+        }
+
+        assertEquals(List.of(camp, talk), tasks.findEventsOverlapping(day.plusDays(3), day.plusDays(5)));
+        assertEquals(List.of(camp, trip), tasks.findEventsOverlapping(day.plusDays(10), day.plusDays(12)));
+        assertTrue(tasks.findEventsOverlapping(day.plusDays(16), day.plusDays(99)).isEmpty());
+        assertEquals(3, tasks.findEventsOverlapping(day.plusDays(140), day.plusDays(141)).size());
+
+        tasks.deleteTask(3);
+        assertEquals(List.of(talk), tasks.findEventsOverlapping(day.plusDays(3), day.plusDays(5)));
+    }
+
+    /**
+     * Tests that the completed filter follows marking and unmarking, compares the last day of each task,
+     * and includes done todos only when asked to.
+     */
+    @Test
+    public void testFindCompletedBefore() {
+        LocalDate cutoff = LocalDate.of(2025, 3, 1);
+        TaskList tasks = new TaskList();
+        TodoTask read = new TodoTask("read");
+        DeadlineTask essay = new DeadlineTask("essay", cutoff.minusDays(1));
+        DeadlineTask quiz = new DeadlineTask("quiz", cutoff);
+        EventTask camp = new EventTask("camp", cutoff.minusDays(5), cutoff.plusDays(1));
+        tasks.addTask(read);
+        tasks.addTask(essay);
+        tasks.addTask(quiz);
+        tasks.addTask(camp);
+        for (int i = 0; i < 100; i++) {
+            tasks.addTask(new TodoTask("filler " + i));
+        }
+        for (AbstractTask task : tasks.getTasks()) {
+            task.markAsDone();
+        }
+        for (int i = 4; i < tasks.getSize(); i++) {
+            tasks.getTask(i).markAsUndone();
+        }
+
+        assertEquals(List.of(essay), tasks.findCompletedBefore(cutoff, false));
+        assertEquals(List.of(read, essay), tasks.findCompletedBefore(cutoff, true));
+        essay.markAsUndone();
+        assertTrue(tasks.findCompletedBefore(cutoff, false).isEmpty());
+        tasks.deleteTask(1);
+        assertTrue(tasks.findCompletedBefore(cutoff, false).isEmpty());
+        assertEquals(List.of(quiz, camp), tasks.findCompletedBefore(cutoff.plusDays(2), false));
+    }
+
+    /**
+     * Tests that indexes stay correct across many deletes, including those that trigger renumbering.
+     */
+    @Test
+    public void testDeleteKeepsIndexes() {
+        TaskList tasks = new TaskList();
+        List<AbstractTask> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TodoTask task = new TodoTask("task " + i);
+            tasks.addTask(task);
+            expected.add(task);
+        }
+        for (int i = 0; i < 200; i++) {
+            int index = (i * 7) % expected.size();
+            tasks.deleteTask(index);
+            expected.remove(index);
+        }
+
+        assertEquals(expected, tasks.getTasks());
+        assertEquals(100, tasks.getSize());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tasks.getTask(i));
+            assertEquals(i, tasks.indexOf(expected.get(i)));
+        }
+        assertEquals(-1, tasks.indexOf(new TodoTask("task 0")));
+    }
+
+    /**
+     * Tests that readers on other threads see consistent results while a writer adds and deletes tasks.
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        TaskList tasks = new TaskList();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (isWriting.get()) {
+                        for (AbstractTask task : tasks.findTasksByWords("book")) {
+                            assertTrue(task.getDescription().startsWith("book"));
+                        }
+                        List<AbstractTask> snapshot = tasks.getTasks();
+                        assertEquals(snapshot.size(), List.copyOf(snapshot).size());
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        for (int i = 0; i < 2000; i++) {
+            tasks.addTask(new TodoTask((i % 2 == 0 ? "book " : "read ") + i));
+            if (i % 3 == 0) {
+                tasks.deleteTask(0);
+            }
+        }
+        isWriting.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(1333, tasks.getSize());
+    }
+
+    /**
+     * Tests that undo and redo move between checkpoints, and that a new change clears the redo history.
+     */
+    @Test
+    public void testUndoRedo() {
+        TaskList tasks = new TaskList(new ArrayList<>(List.of(new TodoTask("read book"))));
+        assertFalse(tasks.undo());
+        tasks.addTask(new TodoTask("write essay"));
+        tasks.checkpoint();
+        tasks.getTask(0).markAsDone();
+        tasks.getTask(1).addTags("school");
+        tasks.checkpoint();
+        tasks.deleteTask(0);
+        tasks.checkpoint();
+        tasks.checkpoint();
+
+        assertTrue(tasks.undo());
+        assertEquals("read book", tasks.getTask(0).getDescription());
+        assertTrue(tasks.getTask(0).isDone());
+        assertEquals(List.of(tasks.getTask(1)), tasks.findTasksByTags(List.of(List.of("school")), List.of()));
+        assertTrue(tasks.undo());
+        assertEquals(2, tasks.getSize());
+        assertFalse(tasks.getTask(0).isDone());
+        assertTrue(tasks.findTasksByTags(List.of(List.of("school")), List.of()).isEmpty());
+        assertTrue(tasks.redo());
+        assertTrue(tasks.getTask(0).isDone());
+
+        tasks.getTask(1).markAsDone();
+        tasks.checkpoint();
+        assertFalse(tasks.redo());
+        assertTrue(tasks.undo());
+        assertTrue(tasks.undo());
+        assertTrue(tasks.undo());
+        assertEquals(1, tasks.getSize());
+        assertFalse(tasks.getTask(0).isDone());
+        assertFalse(tasks.undo());
+    }
+
+    /**
+     * Tests that undo and redo move the tasks themselves, track only the tasks they touch as changed,
+     * and keep the indexes and counts right, including across a renumbering of the slots.
+     */
+    @Test
+    public void testUndoTouchesOnlyChangedTasks() {
+        List<AbstractTask> initial = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            initial.add(new TodoTask("task " + i));
+        }
+        TaskList tasks = new TaskList(initial);
+        tasks.clearChanges();
+        AbstractTask tagged = tasks.getTask(10);
+        tagged.addTags("home");
+        tagged.markAsDone();
+        tasks.checkpoint();
+        AbstractTask deleted = tasks.getTask(50);
+        tasks.deleteTask(50);
+        tasks.checkpoint();
+        tasks.clearChanges();
+
+        assertTrue(tasks.undo());
+        assertSame(deleted, tasks.getTask(50));
+        assertEquals(List.of(deleted), new ArrayList<>(tasks.getDirtyTasks()));
+        assertEquals(List.of(deleted), tasks.findTasksByWords("50"));
+        assertTrue(tasks.undo());
+        assertFalse(tagged.isDone());
+        assertEquals(0, tasks.countTasksWithTag("home"));
+        assertEquals(0, tasks.getStatistics().getDoneCount());
+        assertTrue(tasks.redo());
+        assertEquals(List.of(tagged), tasks.findTasksByTags(List.of(List.of("home")), List.of()));
+        assertEquals(1, tasks.getStatistics().getDoneCount());
+
+        tasks.clearHistory();
+        for (int i = 0; i < 80; i++) {
+            tasks.deleteTask(0);
+            tasks.checkpoint();
+        }
+        assertEquals(20, tasks.getSize());
+        for (int i = 0; i < 80; i++) {
+            assertTrue(tasks.undo());
+        }
+        assertEquals(100, tasks.getSize());
+        for (int i = 0; i < 100; i++) {
+            assertSame(initial.get(i), tasks.getTask(i));
+            assertEquals(i, tasks.indexOf(initial.get(i)));
+        }
+        assertEquals(List.of(initial.get(50)), tasks.findTasksByWords("50"));
+        assertEquals(100, tasks.getStatistics().getTaskCount());
+    }
+
+    /**
+     * Tests that substring search keeps contains semantics, including matches across words and short keywords.
+     */
+    @Test
+    public void testFindTasksBySubstring() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new TodoTask("Book club meeting"));
+        tasks.addTask(new TodoTask("return books"));
+        tasks.addTask(new TodoTask("bookbinding class"));
+        tasks.addTask(new TodoTask("koob"));
+
+        assertEquals(2, tasks.findTasks("book").size());
+        assertEquals("return books", tasks.findTasks("n books").get(0).getDescription());
+        assertEquals(1, tasks.findTasks("Bo").size());
+        assertEquals(4, tasks.findTasks("").size());
+        assertTrue(tasks.findTasks("ookk").isEmpty());
+        assertTrue(tasks.findTasks("obo").isEmpty());
+
+        tasks.deleteTask(1);
+        assertEquals("bookbinding class", tasks.findTasks("book").get(0).getDescription());
+    }
+
+    /**
+     * Tests that fuzzy find ranks tasks by the edit distance of their closest word, and forgets deleted words.
+     */
+    @Test
+    public void testFindTasksFuzzy() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new TodoTask("team meetings"));
+        tasks.addTask(new TodoTask("Meeting notes"));
+        tasks.addTask(new TodoTask("buy milk"));
+        tasks.addTask(new TodoTask("meting room"));
+
+        List<AbstractTask> found = tasks.findTasksFuzzy("Meetng", 2);
+        assertEquals(3, found.size());
+        assertEquals("Meeting notes", found.get(0).getDescription());
+        assertEquals("team meetings", found.get(1).getDescription());
+        assertEquals("meting room", found.get(2).getDescription());
+        assertEquals(1, tasks.findTasksFuzzy("meetng", 1).size());
+        assertTrue(tasks.findTasksFuzzy("meetng", 0).isEmpty());
+
+        tasks.deleteTask(1);
+        assertTrue(tasks.findTasksFuzzy("meetng", 1).isEmpty());
+        assertEquals("buy milk", tasks.findTasksFuzzy("silk", 1).get(0).getDescription());
+    }
+
+    /**
+     * Tests that a cursor starts at the given index and is not disturbed by later changes.
+     */
+    @Test
+    public void testCursor() {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 200; i++) {
+            tasks.addTask(new TodoTask("task " + i));
+        }
+        tasks.deleteTask(10);
+
+        Iterator<AbstractTask> cursor = tasks.cursor(150);
+        tasks.deleteTask(150);
+        assertEquals("task 151", cursor.next().getDescription());
+        assertEquals("task 152", cursor.next().getDescription());
+        assertEquals("task 152", tasks.cursor(150).next().getDescription());
+        assertFalse(tasks.cursor(tasks.getSize()).hasNext());
+        int count = 0;
+        for (Iterator<AbstractTask> all = tasks.cursor(0); all.hasNext(); all.next()) {
+            count++;
+        }
+        assertEquals(198, count);
+    }
+
+    /**
+     * Tests that a scan above the parallel threshold returns the same tasks, in the same order, as a sequential one.
+     */
+    @Test
+    public void testScanTasksInParallel() {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 5000; i++) {
+            tasks.addTask(new TodoTask((i % 7 == 0 ? "go " : "stay ") + i));
+        }
+        tasks.deleteTask(0);
+
+        List<AbstractTask> sequential = tasks.scanTasks(task -> task.getDescription().startsWith("go"));
+        tasks.setParallelScanThreshold(1);
+        List<AbstractTask> parallel = tasks.scanTasks(task -> task.getDescription().startsWith("go"));
+        assertEquals(714, parallel.size());
+        assertEquals(sequential, parallel);
+        assertEquals("go 7", parallel.get(0).getDescription());
+        assertEquals(parallel, tasks.findTasks("go"));
+    }
+
+    /**
+     * Tests that the statistics follow adds, deletes, marks, tags and undo without rescanning the tasks.
+     */
+    @Test
+    public void testStatistics() {
+        LocalDate today = LocalDate.now();
+        TaskList tasks = new TaskList();
+        TodoTask todo = new TodoTask("read book");
+        todo.addTags("home");
+        tasks.addTask(todo);
+        DeadlineTask overdue = new DeadlineTask("tax return", today.minusDays(2));
+        tasks.addTask(overdue);
+        tasks.addTask(new DeadlineTask("essay", today.plusDays(3)));
+        tasks.addTask(new EventTask("trip", today, today.plusDays(1)));
+        tasks.checkpoint();
+
+        TaskStatistics statistics = tasks.getStatistics();
+        assertEquals(4, statistics.getTaskCount());
+        assertEquals(1, statistics.getCount("todo"));
+        assertEquals(2, statistics.getCount("deadline"));
+        assertEquals(1, statistics.getCount("event"));
+        assertEquals(0, statistics.getDoneCount());
+        assertEquals(1, statistics.getOverdueCount());
+
+        overdue.markAsDone();
+        overdue.markAsDone();
+        todo.addTags("home", "urgent");
+        overdue.addTags("urgent");
+        statistics = tasks.getStatistics();
+        assertEquals(1, statistics.getDoneCount());
+        assertEquals(3, statistics.getPendingCount());
+        assertEquals(0, statistics.getOverdueCount());
+        assertEquals(Map.of("home", 1, "urgent", 2), statistics.getCountsByTag());
+
+        tasks.deleteTask(0);
+        statistics = tasks.getStatistics();
+        assertEquals(0, statistics.getCount("todo"));
+        assertEquals(Map.of("urgent", 1), statistics.getCountsByTag());
+
+        tasks.checkpoint();
+        tasks.undo();
+        statistics = tasks.getStatistics();
+        assertEquals(4, statistics.getTaskCount());
+        assertEquals(0, statistics.getDoneCount());
+        assertEquals(1, statistics.getOverdueCount());
+        assertEquals(Map.of("home", 1), statistics.getCountsByTag());
+    }
+}
@@ -0,0 +1,105 @@
+package queries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import datastructures.TaskList;
+import exceptions.ZephyrException;
+import tasks.AbstractTask;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.TodoTask;
+
+public class QueryTest {
+    private static final LocalDate START = LocalDate.of(2025, 2, 1);
+
+    private static TaskList sampleTasks() {
+        TaskList tasks = new TaskList();
+        TodoTask report = new TodoTask("write report");
+        report.addTags("work");
+        tasks.addTask(report);
+        DeadlineTask essay = new DeadlineTask("essay draft", START.plusDays(10));
+        essay.addTags("school");
+        tasks.addTask(essay);
+        DeadlineTask slides = new DeadlineTask("work slides", START.plusDays(3));
+        slides.addTags("work");
+        tasks.addTask(slides);
+        EventTask offsite = new EventTask("team offsite", START.plusDays(5), START.plusDays(6));
+        offsite.addTags("work");
+        tasks.addTask(offsite);
+        TodoTask laundry = new TodoTask("laundry");
+        laundry.markAsDone();
+        tasks.addTask(laundry);
+        return tasks;
+    }
+
+    private static List<String> run(TaskList tasks, String query) {
+        return new QueryParser(query).parse().run(tasks).stream().map(AbstractTask::getDescription).toList();
+    }
+
+    /**
+     * Tests that conditions combine with and, or, not and parentheses, and that results keep list order.
+     */
+    @Test
+    public void testRunQuery() {
+        TaskList tasks = sampleTasks();
+        assertEquals(List.of("write report", "work slides", "team offsite"), run(tasks, "#work"));
+        assertEquals(List.of("work slides"), run(tasks, "type:deadline and tag:work"));
+        assertEquals(List.of("essay draft", "work slides", "team offsite"),
+                run(tasks, "type:event or (type:deadline undone)"));
+        assertEquals(List.of("write report", "essay draft", "work slides", "team offsite"), run(tasks, "not done"));
+        assertEquals(List.of("work slides"), run(tasks, "WORK not type:todo not #school type:deadline"));
+        assertEquals(List.of("laundry"), run(tasks, "done"));
+    }
+
+    /**
+     * Tests that date ranges include their bounds and may be open, and that sort and limit apply last.
+     */
+    @Test
+    public void testDateRangeSortAndLimit() {
+        TaskList tasks = sampleTasks();
+        assertEquals(List.of("work slides", "team offsite"), run(tasks, "date:2025-02-04..2025-02-06"));
+        assertEquals(List.of("essay draft", "team offsite"), run(tasks, "date:2025-02-05.."));
+        assertEquals(List.of("work slides", "team offsite", "essay draft"), run(tasks, "date:..2025-03-01 sort:date"));
+        assertEquals(List.of("work slides", "team offsite", "essay draft", "write report", "laundry"),
+                run(tasks, "sort:date"));
+        assertEquals(List.of("essay draft", "laundry"), run(tasks, "sort:description limit:2"));
+        assertEquals(List.of("write report"), run(tasks, "#work limit:1"));
+    }
+
+    /**
+     * Tests that the planner uses the most selective index, unions indexes only when every branch has one,
+     * and scans when no index would visit fewer tasks.
+     */
+    @Test
+    public void testPlanner() {
+        TaskList tasks = sampleTasks();
+        assertEquals("tag #school", new QueryParser("#work and #school").parse().explain(tasks));
+        assertEquals("word essay", new QueryParser("essay type:deadline").parse().explain(tasks));
+        assertEquals("tag #school + word laundry", new QueryParser("#school or laundry").parse().explain(tasks));
+        assertEquals("scan", new QueryParser("#school or done").parse().explain(tasks));
+        assertEquals("scan", new QueryParser("not #work").parse().explain(tasks));
+        assertTrue(new QueryParser("type:deadline").parse().explain(tasks).startsWith("type deadline"));
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new TodoTask("chore " + i));
+        }
+        assertEquals(List.of("essay draft", "work slides"), run(tasks, "type:deadline"));
+    }
+
+    /**
+     * Tests that queries breaking the grammar are rejected.
+     */
+    @Test
+    public void testInvalidQueries() {
+        for (String query : List.of("(#work", "#work )", "#work and", "not", "type:chore", "#", "date:2025-02-01",
+                "date:2025-02-09..2025-02-01", "date:tomorrow..", "sort:size", "limit:0", "limit:many")) {
+            assertThrows(ZephyrException.class, () -> new QueryParser(query).parse());
+        }
+    }
+}
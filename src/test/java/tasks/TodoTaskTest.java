@@ -68,6 +68,29 @@ public class TodoTaskTest {
         assertTrue(markdown.contains("#tags urgent home"), "Markdown should contain the tags.");
     }
 
+    /**
+     * Tests that renderings are reused between calls and rebuilt once the task is marked or tagged.
+     */
+    @Test
+    public void testRenderingCachedUntilChanged() {
+        TodoTask task = new TodoTask("Test todo");
+        String display = task.toString();
+        String markdown = task.toMarkdownString();
+        assertTrue(display == task.toString(), "Display string should be reused while unchanged.");
+        assertTrue(markdown == task.toMarkdownString(), "Markdown should be reused while unchanged.");
+
+        task.markAsDone();
+        assertTrue(task.toString().contains("[X]"), "Display string should reflect the done status.");
+        assertTrue(task.toMarkdownString().startsWith("- [X]"), "Markdown should reflect the done status.");
+
+        task.addTags("urgent");
+        assertTrue(task.toString().contains("#tags urgent"), "Display string should include new tags.");
+        assertTrue(task.toMarkdownString().contains("#tags urgent"), "Markdown should include new tags.");
+
+        task.markAsUndone();
+        assertFalse(task.toString().contains("[X]"), "Display string should reflect the undone status.");
+    }
+
     /**
      * Tests that parsing a markdown string creates a TodoTask with the correct description.
      */